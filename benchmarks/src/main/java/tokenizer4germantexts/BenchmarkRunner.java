@@ -0,0 +1,58 @@
+// BenchmarkRunner.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/* Runs the benchmarks (all arguments are passed on to JMH, e.g. a regular expression choosing the
+ * benchmarks or "-p profile=mixed") and prints the results as MB/s and tokens/s, e.g.
+ *     java -jar benchmarks/target/benchmarks.jar EndToEnd -p mode=extended */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final Collection<RunResult> results = new Runner(new CommandLineOptions(args)).run();
+        System.out.println();
+        System.out.println(String.format("%-45s %-40s %12s %14s", "Benchmark", "Parameters", "MB/s", "tokens/s"));
+        for (RunResult result : results) {
+            final BenchmarkParams params = result.getParams();
+            final StringBuilder parameters = new StringBuilder();
+            for (String key : params.getParamsKeys()) {
+                parameters.append(key).append('=').append(params.getParam(key)).append(' ');
+            }
+            final Map<String, Result> rates = result.getAggregatedResult().getSecondaryResults();
+            final String benchmark = params.getBenchmark();
+            System.out.println(String.format("%-45s %-40s %12.2f %14.0f", benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.')-1)+1), parameters.toString().trim(), score(rates, "bytes")/1000000, score(rates, "tokens")));
+        }
+    }
+
+    private static final double score(final Map<String, Result> rates, final String name) {
+        final Result rate = rates.get(name);
+        return (rate != null)? rate.getScore() : Double.NaN;
+    }
+}
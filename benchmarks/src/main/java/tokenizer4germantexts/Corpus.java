@@ -0,0 +1,78 @@
+// Corpus.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/* A synthetic corpus (see "CorpusGenerator") split up into batches exactly like "Tokenizer" does it,
+ * together with its size in bytes (UTF-8) and its number of tokens, which turn the operations per
+ * second of the benchmarks into MB/s and tokens/s. */
+final class Corpus {
+
+    final static int BATCH_SIZE = TokenizerOptions.DEFAULT.getBatchSize();
+    final String text;
+    final String[] batches;
+    final long bytes;
+    final long tokens;
+
+    Corpus(final String profile, final int numberOfLines, final boolean extendedTokenization) {
+        text = CorpusGenerator.generate(profile, numberOfLines, 2019);
+        bytes = text.getBytes(StandardCharsets.UTF_8).length;
+        final List<String> list = new ArrayList<>();
+        try (final LineReader lineReader = new LineReader(new StringReader(text), 64*1024)) {
+            final StringBuilder lines = new StringBuilder();
+            while (lineReader.appendBatch(lines, BATCH_SIZE)) {
+                list.add(lines.toString());
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        batches = list.toArray(new String[0]);
+        final TextTokenizer textTokenizer = new TextTokenizer(extendedTokenization);
+        long numberOfTokens = 0;
+        for (int i=0; i<batches.length; i++) {
+            numberOfTokens += countTokens(TextTokenizer.finish(textTokenizer.tokenize(batches[i]), i < batches.length-1));
+        }
+        tokens = numberOfTokens;
+    }
+
+    final String[] inputsOf(final String stage, final boolean extendedTokenization) {
+    /* Returns what every batch looks like when it reaches the "stage" of the pipeline of the mode
+     * (the stages in front of it are applied here in the same order). */
+        final TokenizerPipeline pipeline = TokenizerPipeline.of(extendedTokenization).before(stage);
+        final String[] inputs = new String[batches.length];
+        for (int i=0; i<batches.length; i++) {
+            inputs[i] = pipeline.apply(new TokenizerBatch(batches[i].toLowerCase()), null);
+        }
+        return inputs;
+    }
+
+    static final long countTokens(final String tokens) {
+        long numberOfTokens = 0;
+        for (int i=0; i<tokens.length(); i++) {
+            if (tokens.charAt(i) != ' ' && (i == 0 || tokens.charAt(i-1) == ' ')) {
+                numberOfTokens++;
+            }
+        }
+        return numberOfTokens;
+    }
+}
@@ -0,0 +1,184 @@
+// CorpusGenerator.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/* A generator of synthetic German texts for the benchmarks. Every profile controls how many of the
+ * words are replaced with numbers, dates and times, or abbreviations (the probability per word), so
+ * the cost of every part of the tokenization can be measured on texts where that part has a lot (or
+ * nothing) to do. The texts only depend on the profile, the number of lines and the seed.
+ * A corpus can be saved as a file as well (e.g. to measure the command line tool):
+ *     java -cp benchmarks.jar tokenizer4germantexts.CorpusGenerator mixed 100000 corpus.txt */
+public final class CorpusGenerator {
+
+    // {profile, numbers, dates and times, abbreviations}
+    private final static Object[][] PROFILES = {
+            {"plain", 0.0, 0.0, 0.0},
+            {"numbers", 0.15, 0.0, 0.0},
+            {"dates", 0.0, 0.12, 0.0},
+            {"abbreviations", 0.0, 0.0, 0.12},
+            {"mixed", 0.04, 0.03, 0.04}};
+    private final static String[] WORDS = {"der", "die", "das", "und", "in", "zu", "den", "mit", "von", "nicht", "sich", "des", "auf", "für", "ist", "im", "dem", "ein", "eine", "als", "auch", "es", "an", "werden", "aus", "er", "hat", "dass", "sie", "nach", "wird", "bei", "einer", "um", "am", "sind", "noch", "wie", "einem", "über", "so", "zum", "war", "haben", "nur", "oder", "aber", "vor", "zur", "bis", "mehr", "durch", "man", "sein", "wurde", "sei", "Jahr", "Stadt", "Menschen", "Zeit", "Regierung", "Prozent", "Euro", "Leben", "Straße", "Woche", "Schüler", "Bürgermeister", "Gemeinde", "Mädchen", "Größe", "Frühjahr", "Geschäft", "öffentlich", "groß", "schön", "müssen", "können", "gegenüber", "Verkehr", "Polizei", "Unternehmen", "Bundesregierung", "Entwicklung"};
+    private final static String[] NUMBERS = {"14", "300km", "3ten", "4-mal", "2,5", "1.000", "-20°C", "47 km/h", "10mal", "5ter", "1.000.000", "24", "312", "99", "7", "3 - 5", "50er-Bereich"};
+    private final static String[] DATES = {"15.1.2019", "03.01.2019", "im Sommer 2008", "am 1. Mai", "12:30 Uhr", "9.30-12.00h", "seit 1975", "21.00 MESZ", "bis 2030", "1.12.", "am 24.12.2018", "9:15-17 Uhr"};
+    private final static String[] ABBREVIATIONS = {"z.B.", "bzw.", "ca.", "usw.", "etc.", "ggf.", "v. Chr.", "d.h.", "u.a.", "bspw.", "z. B.", "Dr.", "Nr.", "vgl.", "s.o.", "Hauptstr. 5"};
+    private final static String[] PUNCTUATION = {".", ".", ".", "!", "?", "…"};
+    private final static String[] CONNECTORS = {",", ",", " –", ";", ":"};
+
+    private CorpusGenerator() {
+    }
+
+    public static final String[] profiles() {
+        final String[] profiles = new String[PROFILES.length];
+        for (int i=0; i<PROFILES.length; i++) {
+            profiles[i] = (String)PROFILES[i][0];
+        }
+        return profiles;
+    }
+
+    public static final String generate(final String profile, final int numberOfLines, final long seed) {
+    // Returns a text of "numberOfLines" lines (separated by '\n'), each consisting of a few sentences.
+        final Object[] densities = findProfile(profile);
+        final double numbers = (Double)densities[1];
+        final double dates = numbers+(Double)densities[2];
+        final double abbreviations = dates+(Double)densities[3];
+        final Random random = new Random(seed);
+        final StringBuilder sb = new StringBuilder(numberOfLines*120);
+        for (int line=0; line<numberOfLines; line++) {
+            final int numberOfSentences = 1+random.nextInt(3);
+            for (int sentence=0; sentence<numberOfSentences; sentence++) {
+                final int numberOfWords = 4+random.nextInt(14);
+                for (int word=0; word<numberOfWords; word++) {
+                    final double kind = random.nextDouble();
+                    String token;
+                    if (kind < numbers) {
+                        token = pick(random, NUMBERS);
+                    } else if (kind < dates) {
+                        token = pick(random, DATES);
+                    } else if (kind < abbreviations) {
+                        token = pick(random, ABBREVIATIONS);
+                    } else {
+                        token = pick(random, WORDS);
+                        if (random.nextInt(40) == 0) { // a compound with a hyphen
+                            token += "-"+pick(random, WORDS);
+                        }
+                    }
+                    if (word == 0) {
+                        token = Character.toUpperCase(token.charAt(0))+token.substring(1);
+                    } else {
+                        sb.append(' ');
+                        if (random.nextInt(12) == 0) {
+                            token = "("+token+")";
+                        } else if (random.nextInt(15) == 0) {
+                            token = "„"+token+"“";
+                        }
+                    }
+                    sb.append(token);
+                    if (word > 0 && word < numberOfWords-1 && random.nextInt(8) == 0) {
+                        sb.append(pick(random, CONNECTORS));
+                    }
+                }
+                sb.append(pick(random, PUNCTUATION));
+                if (sentence < numberOfSentences-1) {
+                    sb.append(' ');
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static final String html(final String text) {
+    /* Returns the "text" as an HTML page (every line becomes a paragraph; umlauts are written as
+     * entities, and there are links, comments, a script and a style). */
+        final StringBuilder sb = new StringBuilder(text.length()*2);
+        sb.append("<!DOCTYPE html>\n<html lang=\"de\">\n<head>\n<meta charset=\"UTF-8\">\n<title>Korpus</title>\n");
+        sb.append("<style>\np { margin: 0 0 1em 0; }\n</style>\n<script type=\"text/javascript\">\nif (a < b && c > d) { document.write(\"<p>kein Text</p>\"); }\n</script>\n</head>\n<body>\n");
+        int line = 0;
+        for (String paragraph : text.split("\n")) {
+            sb.append((line%10 == 0)? "<h2 class=\"titel\">" : "<p>");
+            for (int i=0; i<paragraph.length(); i++) {
+                final char c = paragraph.charAt(i);
+                switch (c) {
+                case 'ä':
+                    sb.append("&auml;");
+                    break;
+                case 'ö':
+                    sb.append("&ouml;");
+                    break;
+                case 'ü':
+                    sb.append("&uuml;");
+                    break;
+                case 'ß':
+                    sb.append("&szlig;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                default:
+                    sb.append(c);
+                }
+                if (c == ' ' && i%97 == 0) {
+                    sb.append("<a href=\"https://example.org/seite?id=").append(i).append("\">Link</a> ");
+                }
+            }
+            sb.append((line%10 == 0)? "</h2>\n" : "</p>\n");
+            if (line%25 == 0) {
+                sb.append("<!-- Abschnitt ").append(line).append(" -->\n");
+            }
+            line++;
+        }
+        return sb.append("</body>\n</html>\n").toString();
+    }
+
+    private static final Object[] findProfile(final String profile) {
+        for (Object[] densities : PROFILES) {
+            if (densities[0].equals(profile)) {
+                return densities;
+            }
+        }
+        throw new IllegalArgumentException("Unknown profile: \""+profile+"\" (known profiles: "+String.join(", ", profiles())+")");
+    }
+
+    private static final String pick(final Random random, final String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    public static void main(String[] args) throws IOException {
+    // Arguments: profile, number of lines, output file [, seed].
+        if (args.length < 3) {
+            System.out.println("Usage: java tokenizer4germantexts.CorpusGenerator "+String.join("|", profiles())+" LINES FILE [SEED]");
+            return;
+        }
+        final long seed = (args.length > 3)? Long.parseLong(args[3]) : 2019;
+        try (final Writer writer = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+            writer.write(generate(args[0], Integer.parseInt(args[1]), seed));
+        }
+    }
+}
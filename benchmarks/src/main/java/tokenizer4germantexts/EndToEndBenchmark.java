@@ -0,0 +1,99 @@
+// EndToEndBenchmark.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/* The whole tokenization of the corpus: the batches as the token files get them, the tokens read
+ * lazily from a "Reader" and the tokens of the corpus as an HTML page. (Reading and writing files
+ * isn't measured here; a corpus for the command line tool can be saved with "CorpusGenerator".) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    @Param({"mixed", "plain", "numbers", "dates", "abbreviations"})
+    public String profile;
+    @Param({"standard", "extended"})
+    public String mode;
+    @Param({"2000"})
+    public int lines;
+
+    private Corpus corpus;
+    private TextTokenizer textTokenizer;
+    private TokenizerEngine engine;
+    private String html;
+    private long htmlBytes;
+
+    @Setup
+    public void setUp() {
+        final boolean extendedTokenization = mode.equals("extended");
+        corpus = new Corpus(profile, lines, extendedTokenization);
+        textTokenizer = new TextTokenizer(extendedTokenization);
+        engine = new TokenizerEngine(extendedTokenization);
+        html = CorpusGenerator.html(corpus.text);
+        htmlBytes = html.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public void tokenizeBatches(final Rates rates, final Blackhole blackhole) {
+    // What "Tokenizer" does with every batch before it is written into the token file.
+        for (int i=0; i<corpus.batches.length; i++) {
+            blackhole.consume(TextTokenizer.finish(textTokenizer.tokenize(corpus.batches[i]), i < corpus.batches.length-1));
+        }
+        rates.add(corpus);
+    }
+
+    @Benchmark
+    public void tokenIterator(final Rates rates, final Blackhole blackhole) {
+    // Reads the text line by line, tokenizes it batch by batch and returns the tokens one by one.
+        final Iterator<String> tokens = engine.tokenIterator(new StringReader(corpus.text));
+        while (tokens.hasNext()) {
+            blackhole.consume(tokens.next());
+        }
+        rates.add(corpus);
+    }
+
+    @Benchmark
+    public void tokenizeHtml(final Rates rates, final Blackhole blackhole) {
+    // Extracts the text of the HTML page while it is read and tokenizes it.
+        final Iterator<String> tokens = engine.tokenIterator(new HtmlTextReader(new StringReader(html)));
+        while (tokens.hasNext()) {
+            blackhole.consume(tokens.next());
+        }
+        rates.add(htmlBytes, corpus.tokens);
+    }
+}
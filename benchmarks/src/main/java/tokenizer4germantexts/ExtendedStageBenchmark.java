@@ -0,0 +1,67 @@
+// ExtendedStageBenchmark.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/* The stages that only exist in the extended tokenization (times, dates, single characters, numbers and years), each
+ * working on all batches of the corpus as they look when they reach that stage. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtendedStageBenchmark {
+
+    @Param({"timeFormats", "dates", "singleCharacters", "numbers", "years"})
+    public String stage;
+    @Param({"mixed", "plain", "numbers", "dates", "abbreviations"})
+    public String profile;
+    @Param({"2000"})
+    public int lines;
+
+    private Corpus corpus;
+    private TokenizerStage tokenizerStage;
+    private String[] inputs;
+
+    @Setup
+    public void setUp() {
+        corpus = new Corpus(profile, lines, true);
+        tokenizerStage = TokenizerPipeline.extended().getStage(stage);
+        inputs = corpus.inputsOf(stage, true);
+    }
+
+    @Benchmark
+    public void stage(final Rates rates, final Blackhole blackhole) {
+        StageBenchmark.run(tokenizerStage, inputs, blackhole);
+        rates.add(corpus);
+    }
+}
@@ -0,0 +1,76 @@
+// HtmlBenchmark.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* The extraction of the text of an HTML page by "HtmlTextReader" (which has taken the place of
+ * "Webloader.clearHTML()"); the bytes are those of the page. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlBenchmark {
+
+    @Param({"mixed", "plain"})
+    public String profile;
+    @Param({"2000"})
+    public int lines;
+
+    private Corpus corpus;
+    private String html;
+    private long htmlBytes;
+    private final char[] buffer = new char[8*1024];
+
+    @Setup
+    public void setUp() {
+        corpus = new Corpus(profile, lines, false);
+        html = CorpusGenerator.html(corpus.text);
+        htmlBytes = html.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public long htmlText(final Rates rates) throws IOException {
+        long characters = 0;
+        try (final Reader reader = new HtmlTextReader(new StringReader(html))) {
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+                characters += read;
+            }
+        }
+        rates.add(htmlBytes, corpus.tokens);
+        return characters;
+    }
+}
@@ -0,0 +1,48 @@
+// Rates.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/* The bytes and tokens of the corpus that have been worked on; JMH reports both as rates next to the
+ * operations per second (so "bytes" is the throughput in bytes/s, see "BenchmarkRunner" for MB/s). */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Rates {
+
+    public long bytes;
+    public long tokens;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        bytes = 0;
+        tokens = 0;
+    }
+
+    final void add(final Corpus corpus) {
+        add(corpus.bytes, corpus.tokens);
+    }
+
+    final void add(final long bytes, final long tokens) {
+        this.bytes += bytes;
+        this.tokens += tokens;
+    }
+}
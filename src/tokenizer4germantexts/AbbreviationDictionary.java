@@ -0,0 +1,276 @@
+// AbbreviationDictionary.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+
+/* A tool to find all known abbreviations (like "z.b." or "bzw.") in a text in a single pass (using an
+ * Aho-Corasick automaton) and to protect their dots with "|ßß|" or - if "extendedTokenization" is
+ * "true" - to replace them with the words they stand for.
+ * The abbreviations are read from the file "abbreviations.tsv" next to this class; further
+ * abbreviations (e.g. of a certain domain) can be added by setting the system property
+ * "tokenizer4germantexts.abbreviations" to the path of a file with the same format. */
+final class AbbreviationDictionary {
+
+    final static String PROPERTY = "tokenizer4germantexts.abbreviations";
+    private final static String RESOURCE = "abbreviations.tsv";
+    private final static byte BOUNDARY = 1;
+    private final static byte INTERIOR = 2;
+    private static AbbreviationDictionary defaultDictionary;
+
+    private final Node root = new Node();
+    private final List<Entry> entries = new ArrayList<>();
+    private int features; // the "BatchFeatures" of all spellings that can be put into a text
+
+    private AbbreviationDictionary() {
+    }
+
+    static final synchronized AbbreviationDictionary getDefault() {
+    /* Returns the dictionary containing the abbreviations of "abbreviations.tsv" and - if the
+     * system property "tokenizer4germantexts.abbreviations" is set - of the file it points to. An
+     * exception is thrown if one of these files can't be read, since the extended tokenization
+     * would silently change without them. */
+        if (defaultDictionary == null) {
+            final AbbreviationDictionary dictionary = new AbbreviationDictionary();
+            try (final InputStream is = AbbreviationDictionary.class.getResourceAsStream(RESOURCE)) {
+                if (is == null) {
+                    throw new IllegalStateException("The file \""+RESOURCE+"\" couldn't be found on the class path.");
+                }
+                dictionary.load(is);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("The file \""+RESOURCE+"\" couldn't be read.", ioe);
+            }
+            final String domainAbbreviations = System.getProperty(PROPERTY);
+            if (domainAbbreviations != null && !domainAbbreviations.isEmpty()) {
+                try (final InputStream is = new FileInputStream(domainAbbreviations)) {
+                    dictionary.load(is);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException("The abbreviations of \""+domainAbbreviations+"\" couldn't be read.", ioe);
+                }
+            }
+            dictionary.build();
+            defaultDictionary = dictionary;
+        }
+        return defaultDictionary;
+    }
+
+    private final void load(final InputStream is) throws IOException {
+    /* Reads the abbreviations line by line (format: "abbreviation[<tab>expansion[<tab>standard
+     * spelling]]"); empty lines and lines starting with '#' will be skipped. */
+        final BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        String line;
+        while ((line = br.readLine()) != null) {
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] columns = line.toLowerCase().split("\t");
+            final String abbreviation = columns[0].trim();
+            final String standard = protect(columns.length > 2? columns[2].trim() : abbreviation);
+            final String extended = (columns.length > 1 && !columns[1].trim().isEmpty())? protect(columns[1].trim()) : standard;
+            final Entry entry = new Entry(entries.size(), standard, extended);
+            features |= BatchFeatures.scan(standard) | BatchFeatures.scan(extended);
+            entries.add(entry);
+            for (String variant : variants(abbreviation)) {
+                insert(" "+variant+" ", entry);
+            }
+        }
+    }
+
+    private static final String protect(final String words) {
+    // Replaces the dots in "words" with "|ßß|".
+        return words.replace(".", "|ßß|");
+    }
+
+    private static final List<String> variants(final String abbreviation) {
+    /* Returns all spellings of the "abbreviation" with and without spaces behind its inner dots
+     * (e.g. "z.b." and "z. b."). */
+        List<String> variants = Collections.singletonList("");
+        for (int i=0; i<abbreviation.length(); i++) {
+            final char c = abbreviation.charAt(i);
+            final List<String> extendedVariants = new ArrayList<>();
+            for (String variant : variants) {
+                extendedVariants.add(variant+c);
+                if (c == '.' && i < abbreviation.length()-1 && abbreviation.charAt(i+1) != ' ') {
+                    extendedVariants.add(variant+c+" ");
+                }
+            }
+            variants = extendedVariants;
+        }
+        return variants;
+    }
+
+    private final void insert(final String pattern, final Entry entry) {
+        Node node = root;
+        for (int i=0; i<pattern.length(); i++) {
+            Node child = node.child(pattern.charAt(i));
+            if (child == null) {
+                child = node.addChild(pattern.charAt(i));
+            }
+            node = child;
+        }
+        if (node.entry == null || node.entry.priority > entry.priority) {
+            node.entry = entry;
+            node.length = pattern.length();
+        }
+    }
+
+    private final void build() {
+    // Computes the failure links of the automaton (breadth-first).
+        final Queue<Node> queue = new ArrayDeque<>();
+        root.failure = root;
+        for (int i=0; i<root.size; i++) {
+            root.children[i].failure = root;
+            queue.add(root.children[i]);
+        }
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            node.output = (node.failure.entry != null)? node.failure : node.failure.output;
+            for (int i=0; i<node.size; i++) {
+                final Node child = node.children[i];
+                Node failure = node.failure;
+                while (failure != root && failure.child(node.labels[i]) == null) {
+                    failure = failure.failure;
+                }
+                final Node next = failure.child(node.labels[i]);
+                child.failure = (next != null && next != child)? next : root;
+                queue.add(child);
+            }
+        }
+    }
+
+    final String apply(final String lines, final boolean extendedTokenization) {
+    /* Protects or replaces all abbreviations in "lines". Every abbreviation has to be surrounded by
+     * spaces; two abbreviations may share the space between them. */
+        final List<int[]> matches = new ArrayList<>(); // {priority, start, end}
+        Node node = root;
+        for (int i=0; i<lines.length(); i++) {
+            final char c = lines.charAt(i);
+            Node next = node.child(c);
+            while (next == null && node != root) {
+                node = node.failure;
+                next = node.child(c);
+            }
+            node = (next != null)? next : root;
+            for (Node match = (node.entry != null)? node : node.output; match != null; match = match.output) {
+                matches.add(new int[] {match.entry.priority, i+1-match.length, i+1});
+            }
+        }
+        if (matches.isEmpty()) {
+            return lines;
+        }
+        /* If abbreviations overlap (apart from a shared space), the one listed first in the
+         * dictionary wins (and - if it is the same abbreviation - the one found first). */
+        matches.sort(Comparator.<int[]>comparingInt(match -> match[0]).thenComparingInt(match -> match[1]));
+        final byte[] marks = new byte[lines.length()];
+        final List<int[]> acceptedMatches = new ArrayList<>();
+        for (int[] match : matches) {
+            if (isFree(marks, match[1], match[2])) {
+                marks[match[1]] = BOUNDARY;
+                marks[match[2]-1] = BOUNDARY;
+                Arrays.fill(marks, match[1]+1, match[2]-1, INTERIOR);
+                acceptedMatches.add(match);
+            }
+        }
+        acceptedMatches.sort(Comparator.comparingInt(match -> match[1]));
+        final StringBuilder sb = new StringBuilder(lines.length()+16*acceptedMatches.size());
+        int position = 0;
+        for (int[] match : acceptedMatches) {
+            final Entry entry = entries.get(match[0]);
+            sb.append(lines, position, match[1]+1).append(extendedTokenization? entry.extended : entry.standard);
+            position = match[2]-1;
+        }
+        return sb.append(lines, position, lines.length()).toString();
+    }
+
+    final int getFeatures() {
+    /* Returns the "BatchFeatures" the replacements of "apply()" can add to a text (none for the
+     * abbreviations of "abbreviations.tsv"). */
+        return features;
+    }
+
+    private static final boolean isFree(final byte[] marks, final int start, final int end) {
+    /* Returns "true" if the range between "start" and "end" doesn't overlap with an abbreviation
+     * that has already been found (apart from the spaces at its ends). */
+        if (marks[start] == INTERIOR || marks[end-1] == INTERIOR) {
+            return false;
+        }
+        for (int i=start+1; i<end-1; i++) {
+            if (marks[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+    // The spellings of an abbreviation used in both modes; "priority" is its line in the dictionary.
+
+        private final int priority;
+        private final String standard;
+        private final String extended;
+
+        private Entry(final int priority, final String standard, final String extended) {
+            this.priority = priority;
+            this.standard = standard;
+            this.extended = extended;
+        }
+    }
+
+    private static final class Node {
+    // A state of the automaton with its (few) outgoing transitions.
+
+        private char[] labels = new char[2];
+        private Node[] children = new Node[2];
+        private int size;
+        private Node failure;
+        private Node output; // the next state (via failure links) at which an abbreviation ends
+        private Entry entry;
+        private int length;
+
+        private final Node child(final char c) {
+            for (int i=0; i<size; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private final Node addChild(final char c) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, size*2);
+                children = Arrays.copyOf(children, size*2);
+            }
+            labels[size] = c;
+            children[size] = new Node();
+            return children[size++];
+        }
+    }
+}
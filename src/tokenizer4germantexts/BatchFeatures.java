@@ -0,0 +1,63 @@
+// BatchFeatures.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+/* A cheap scan of a batch for the characters that the expensive parts of the tokenization depend on
+ * (the digits, ':', '-' and '°'). The features are stored as bits of an "int", so a rewrite or a
+ * stage can be skipped if the characters it needs aren't part of the batch (e.g. most of the rules
+ * for numbers in a batch without any digit). The built-in stages never add one of these characters
+ * to a batch (except for those of the abbreviations, see "AbbreviationDictionary.getFeatures()"),
+ * so the features found at the beginning are valid for all of them; a batch changed by a stage of
+ * your own is scanned again (see "TokenizerBatch"). */
+final class BatchFeatures {
+
+    final static int DIGITS = 0x3FF; // one bit for every digit ('0' is the lowest bit)
+    final static int COLON = 1 << 10;
+    final static int HYPHEN = 1 << 11;
+    final static int DEGREE = 1 << 12;
+    final static int ALL = DIGITS | COLON | HYPHEN | DEGREE;
+
+    private BatchFeatures() {
+    }
+
+    static final int scan(final CharSequence lines) {
+    // Returns the features of the "lines".
+        int features = 0;
+        for (int i=0; i<lines.length(); i++) {
+            final char c = lines.charAt(i);
+            if (c >= '0' && c <= '9') {
+                features |= 1 << (c-'0');
+            } else if (c == ':') {
+                features |= COLON;
+            } else if (c == '-') {
+                features |= HYPHEN;
+            } else if (c == '°') {
+                features |= DEGREE;
+            }
+        }
+        return features;
+    }
+
+    static final int digit(final int digit) {
+    // The feature of a single digit.
+        return 1 << digit;
+    }
+
+    static final boolean hasDigits(final int features) {
+        return (features & DIGITS) != 0;
+    }
+}
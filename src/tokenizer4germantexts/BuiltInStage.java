@@ -0,0 +1,205 @@
+// BuiltInStage.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+/* The stages of the standard and the extended tokenization (see "TokenizerPipeline.standard()" and
+ * "TokenizerPipeline.extended()"), one class for every stage. Every stage works on the whole batch
+ * at once; the stages that need digits, ':', '-' or '°' skip the rules for characters the batch
+ * doesn't contain. */
+abstract class BuiltInStage implements TokenizerStage {
+
+    private final String name;
+
+    private BuiltInStage(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public final String getName() {
+        return name;
+    }
+
+    @Override
+    public final void apply(final TokenizerBatch batch) {
+        batch.replaceLines(apply(batch.getLines(), batch));
+    }
+
+    abstract String apply(String lines, TokenizerBatch batch);
+
+    @Override
+    public final String toString() {
+        return name;
+    }
+
+    static final class Preparation extends BuiltInStage {
+
+        private final boolean extendedTokenization;
+
+        Preparation(final boolean extendedTokenization) {
+            super(TokenizerPipeline.PREPARATION);
+            this.extendedTokenization = extendedTokenization;
+        }
+
+        @Override
+        final String apply(String lines, final TokenizerBatch batch) {
+            lines = PatternRegistry.apply(PatternRegistry.BRACKETS_AND_SPACES, lines);
+            lines = PatternRegistry.apply(extendedTokenization? PatternRegistry.EXTENDED_DIGITS : PatternRegistry.STANDARD_DIGITS, lines, batch.getFeatures());
+            return PatternRegistry.apply(PatternRegistry.PUNCTUATION, lines);
+        }
+    }
+
+    static final class Abbreviations extends BuiltInStage {
+
+        private final boolean extendedTokenization;
+        private final AbbreviationDictionary abbreviations = AbbreviationDictionary.getDefault(); // looked up once, not for every batch
+
+        Abbreviations(final boolean extendedTokenization) {
+            super(TokenizerPipeline.ABBREVIATIONS);
+            this.extendedTokenization = extendedTokenization;
+        }
+
+        @Override
+        final String apply(String lines, final TokenizerBatch batch) {
+        // Saves or - if "extendedTokenization" == "true" - clarifies common German abbreviations.
+            lines = PatternRegistry.apply(extendedTokenization? PatternRegistry.EXTENDED_SPEED : PatternRegistry.STANDARD_SPEED, lines);
+            lines = abbreviations.apply(lines, extendedTokenization);
+            return PatternRegistry.apply(extendedTokenization? PatternRegistry.EXTENDED_STREETS : PatternRegistry.STANDARD_STREETS, lines);
+        }
+    }
+
+    static final class HyphensAndDashes extends BuiltInStage {
+
+        HyphensAndDashes() {
+            super(TokenizerPipeline.HYPHENS_AND_DASHES);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+            return TextTokenizer.workOnHyphensAndDashes(lines);
+        }
+    }
+
+    static final class Separators extends BuiltInStage {
+
+        Separators() {
+            super(TokenizerPipeline.SEPARATORS);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+            return PatternRegistry.apply(PatternRegistry.SEPARATORS, PatternRegistry.apply(PatternRegistry.UMLAUT_DOTS, lines));
+        }
+    }
+
+    static final class Symbols extends BuiltInStage {
+
+        private final boolean extendedTokenization;
+
+        Symbols(final boolean extendedTokenization) {
+            super(TokenizerPipeline.SYMBOLS);
+            this.extendedTokenization = extendedTokenization;
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+        /* Replaces certain characters like '&' with their corresponding words like "und" (German
+         * for "and") in the extended tokenization. */
+            return PatternRegistry.apply(extendedTokenization? PatternRegistry.EXTENDED_SYMBOLS : PatternRegistry.STANDARD_SYMBOLS, lines, batch.getFeatures());
+        }
+    }
+
+    static final class TimeFormats extends BuiltInStage {
+
+        TimeFormats() {
+            super(TokenizerPipeline.TIME_FORMATS);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+        // E.g. "12:43 Uhr" will be prepared to become "zwölf uhr dreiundvierzig".
+            return batch.hasDigits()? TimeFormatRecognizer.replaceTimeFormats(lines) : lines;
+        }
+    }
+
+    static final class Dates extends BuiltInStage {
+
+        Dates() {
+            super(TokenizerPipeline.DATES);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+            return TextTokenizer.clarifyDates(lines);
+        }
+    }
+
+    static final class SingleCharacters extends BuiltInStage {
+
+        SingleCharacters() {
+            super(TokenizerPipeline.SINGLE_CHARACTERS);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+        /* Deletes single characters (which are not an digits); this won't affect most of the
+         * abbreviations because they normally got the format "a.". */
+            return PatternRegistry.apply(PatternRegistry.SINGLE_CHARACTERS, lines);
+        }
+    }
+
+    static final class Numbers extends BuiltInStage {
+
+        Numbers() {
+            super(TokenizerPipeline.NUMBERS);
+        }
+
+        @Override
+        final String apply(String lines, final TokenizerBatch batch) {
+            if (batch.hasDigits()) {
+                lines = NumeralConverter.replaceNumbers(lines, batch.getVerbalizationCache()); // this method will work less efficient without the stage "dates"
+            }
+            if (lines.contains(" uhr null ")) {
+                lines = PatternRegistry.apply(PatternRegistry.ZERO_MINUTES, lines);
+            }
+            return lines;
+        }
+    }
+
+    static final class Years extends BuiltInStage {
+
+        Years() {
+            super(TokenizerPipeline.YEARS);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+            return batch.hasDigits()? TextTokenizer.detectYears(lines, batch.getVerbalizationCache()) : lines; // this method will work less efficient without the stages "numbers" or "dates"
+        }
+    }
+
+    static final class Markers extends BuiltInStage {
+
+        Markers() {
+            super(TokenizerPipeline.MARKERS);
+        }
+
+        @Override
+        final String apply(final String lines, final TokenizerBatch batch) {
+            return TextTokenizer.restoreMarkers(lines);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// ChannelWriter.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/* A "Writer" that encodes the characters into a (large) direct buffer and writes that buffer to a
+ * channel (like a "FileChannel") only when it is full or when "flush()" is called. */
+final class ChannelWriter extends Writer {
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer buffer;
+    private char highSurrogate; // the first half of a character that was split up by two calls of "write()"
+
+    ChannelWriter(final WritableByteChannel channel, final Charset charset, final int bufferSize) {
+        this.channel = channel;
+        encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 16));
+    }
+
+    @Override
+    public final void write(final char[] cbuf, final int off, final int len) throws IOException {
+        encode(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public final void write(final String str) throws IOException {
+        encode(CharBuffer.wrap(str));
+    }
+
+    @Override
+    public final void write(final String str, final int off, final int len) throws IOException {
+        encode(CharBuffer.wrap(str, off, off+len));
+    }
+
+    private final void encode(CharBuffer chars) throws IOException {
+        if (highSurrogate != 0 && chars.hasRemaining()) {
+            final char[] pair = {highSurrogate, chars.get()};
+            highSurrogate = 0;
+            encode(CharBuffer.wrap(pair));
+        }
+        while (true) {
+            final CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        if (chars.hasRemaining()) {
+            highSurrogate = chars.get();
+        }
+    }
+
+    private final void drain() throws IOException {
+    // Writes the content of the buffer to the channel.
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public final void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public final void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            final CharBuffer rest = (highSurrogate != 0)? CharBuffer.wrap(new char[] {highSurrogate}) : CharBuffer.allocate(0);
+            while (encoder.encode(rest, buffer, true).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+// GzipChannel.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/* A channel that compresses everything written to it with gzip: the bytes are collected in chunks
+ * and every chunk is compressed into a gzip member of its own, which can be done by several threads
+ * at the same time. The members are written in their original order; a file consisting of several
+ * gzip members is a valid gzip file (which is read by "GZIPInputStream", "gunzip" etc. as a whole).
+ * Because only whole chunks are compressed, "flush()" of a writer on top of this channel doesn't
+ * write anything to the file before the current chunk is full. */
+final class GzipChannel implements WritableByteChannel {
+
+    private final WritableByteChannel channel;
+    private final int chunkSize;
+    private final ExecutorService compressors; // "null" if the chunks are compressed by the writing thread
+    private final ArrayDeque<Future<byte[]>> members = new ArrayDeque<>(); // the chunks being compressed
+    private final int maximumOfMembers;
+    private byte[] chunk;
+    private int chunkLength;
+    private boolean empty = true;
+    private boolean open = true;
+
+    GzipChannel(final WritableByteChannel channel, final int chunkSize, final int threads) {
+        this.channel = channel;
+        this.chunkSize = Math.max(chunkSize, 64*1024); // smaller members would compress worse
+        compressors = (threads > 1)? Executors.newFixedThreadPool(threads) : null;
+        maximumOfMembers = 2*threads;
+        chunk = new byte[this.chunkSize];
+    }
+
+    @Override
+    public final int write(final ByteBuffer src) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        final int length = src.remaining();
+        while (src.hasRemaining()) {
+            final int bytes = Math.min(src.remaining(), chunkSize-chunkLength);
+            src.get(chunk, chunkLength, bytes);
+            chunkLength += bytes;
+            empty = false;
+            if (chunkLength == chunkSize) {
+                compressChunk();
+            }
+        }
+        return length;
+    }
+
+    private final void compressChunk() throws IOException {
+    // Compresses the current chunk (or lets one of the "compressors" do so) and starts a new one.
+        final byte[] data = chunk;
+        final int length = chunkLength;
+        chunk = new byte[chunkSize];
+        chunkLength = 0;
+        if (compressors == null) {
+            writeMember(compress(data, length));
+            return;
+        }
+        members.add(compressors.submit(() -> compress(data, length)));
+        while (members.size() >= maximumOfMembers) {
+            writeMember(members.poll());
+        }
+    }
+
+    private static final byte[] compress(final byte[] data, final int length) throws IOException {
+    // Returns the "data" as a complete gzip member.
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(length/3+64);
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(baos, 64*1024)) {
+            gzip.write(data, 0, length);
+        }
+        return baos.toByteArray();
+    }
+
+    private final void writeMember(final Future<byte[]> member) throws IOException {
+    // Waits until the "member" has been compressed and writes it.
+        try {
+            writeMember(member.get());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The compression has been interrupted.");
+        } catch (ExecutionException ee) {
+            throw new IOException(ee.getCause());
+        }
+    }
+
+    private final void writeMember(final byte[] member) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(member);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public final boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public final void close() throws IOException {
+    // Compresses the rest of the data (an empty file gets an empty member) and closes the file.
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            if (chunkLength > 0 || empty) {
+                compressChunk();
+            }
+            while (!members.isEmpty()) {
+                writeMember(members.poll());
+            }
+        } finally {
+            if (compressors != null) {
+                compressors.shutdownNow();
+            }
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+// HtmlTextReader.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/* A "Reader" that extracts the text of an HTML document while it is being read: HTML tags, comments,
+ * scripts and styles get deleted and entities (like "&auml;" or "&#228;") get replaced with the
+ * characters they stand for. The document is read through a buffer of fixed size, so even very
+ * large documents can be worked on without holding them in memory as a whole.
+ * Tags that start a new block of text (like "<p>" or "<br>") are replaced with a line break, all
+ * other tags with a space. */
+final class HtmlTextReader extends Reader {
+
+    private final static int BUFFER_SIZE = 16*1024;
+    private final static int MAXIMUM_LOOKAHEAD = 4*1024; // how far the reader looks for the end of an escaped tag like "&lt;...&gt;"
+    private final static int MAXIMUM_ENTITY_LENGTH = 10;
+    private final static String[][] ESCAPED_TAGS = {{"lt", "&gt;"}, {"#60", "&#63;"}, {"#91", "&#93;"}};
+    private final static Set<String> BLOCKS = new HashSet<>(Arrays.asList("address", "article", "aside", "blockquote", "br", "dd", "div", "dl", "dt", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hr", "li", "main", "nav", "ol", "option", "p", "pre", "section", "table", "td", "th", "title", "tr", "ul"));
+    private final static Map<String, String> ENTITIES = new HashMap<>();
+    static {
+        /* Some of the special characters in HTML code that seem to be important or are often used in
+         * German. (Some of them will be replaced later during the tokenization.) Numeric entities
+         * that aren't listed here are replaced with the character they stand for. */
+        final String[][] entities = {{"nbsp", " "}, {"#160", " "}, {"quot", " "}, {"#34", " "}, {"apos", " "}, {"#39", " "}, {"laquo", " "}, {"raquo", " "}, {"bdquo", " "}, {"ldquo", " "}, {"rdquo", " "}, {"sbquo", " "}, {"lsquo", " "}, {"rsquo", " "}, {"lsaquo", " "}, {"rsaquo", " "}, {"mdash", "-"}, {"ndash", "-"}, {"#8211", " "}, {"#45", "-"}, {"shy", "-"}, {"#173", "-"}, {"darr", " "}, {"larr", " "}, {"rarr", " "}, {"uarr", " "}, {"#8592", " "}, {"#8593", " "}, {"#8594", " "}, {"#8595", " "}, {"hellip", " "}, {"#8230", " "}, {"frasl", " "}, {"#448", " "}, {"lt", "<"}, {"gt", ">"}, {"#38", "&"}, {"Aacute", "á"}, {"aacute", "á"}, {"Acirc", "â"}, {"acirc", "â"}, {"Agrave", "à"}, {"agrave", "à"}, {"Eacute", "é"}, {"eacute", "é"}, {"Ecirc", "ê"}, {"ecirc", "ê"}, {"Egrave", "è"}, {"egrave", "è"}, {"Iacute", "í"}, {"iacute", "í"}, {"Icirc", "î"}, {"icirc", "î"}, {"Oacute", "ó"}, {"oacute", "ó"}, {"Ocirc", "ô"}, {"ocirc", "ô"}, {"Ograve", "ò"}, {"ograve", "ò"}, {"Uacute", "ú"}, {"uacute", "ú"}, {"Ucirc", "û"}, {"ucirc", "û"}, {"AElig", "æ"}, {"aelig", "æ"}, {"OElig", "œ"}, {"oelig", "œ"}, {"permil", " promille "}, {"cent", " cent "}, {"#162", " cent "}, {"euro", " euro "}, {"#8364", " euro "}, {"pound", " pfund "}, {"#163", " pfund "}, {"yen", " yen "}, {"#165", " yen "}, {"copy", " copyright "}, {"#169", " copyright "}, {"frac14", " ein viertel "}, {"#188", " ein viertel "}, {"frac34", " drei viertel "}, {"#190", " drei viertel "}, {"frac12", "½"}, {"times", "×"}, {"divide", "÷"}, {"sect", "§"}, {"dagger", "†"}, {"Auml", "ä"}, {"auml", "ä"}, {"#196", "ä"}, {"Ouml", "ö"}, {"ouml", "ö"}, {"#214", "ö"}, {"Uuml", "ü"}, {"uuml", "ü"}, {"#220", "ü"}, {"szlig", "ß"}, {"Ccedil", "ç"}, {"ccedil", "ç"}, {"thorn", "þ"}, {"THORN", "þ"}, {"#222", "þ"}, {"eth", "ð"}, {"Aring", "å"}, {"aring", "å"}, {"#197", "å"}, {"Oslash", "ø"}, {"oslash", "ø"}, {"#216", "ø"}, {"Yacute", "ý"}, {"yacute", "ý"}};
+        for (String[] entity : entities) {
+            ENTITIES.put(entity[0], entity[1]);
+        }
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private final StringBuilder text = new StringBuilder(); // the text that has been extracted but not read yet
+    private int textPosition;
+
+    HtmlTextReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public final int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (textPosition == text.length()) {
+            text.setLength(0);
+            textPosition = 0;
+            if (!extract()) {
+                return -1;
+            }
+        }
+        final int length = Math.min(len, text.length()-textPosition);
+        text.getChars(textPosition, textPosition+length, cbuf, off);
+        textPosition += length;
+        return length;
+    }
+
+    private final boolean extract() throws IOException {
+    /* Works on the HTML code until at least one character of text has been extracted; returns
+     * "false" at the end of the document. */
+        while (text.length() == 0) {
+            final int c = peek(0);
+            if (c < 0) {
+                return false;
+            } else if (c == '<') {
+                readTag();
+            } else if (c == '&') {
+                readEntity();
+            } else {
+                // copies all characters up to the next tag or entity at once
+                final int start = position;
+                while (position < limit && buffer[position] != '<' && buffer[position] != '&') {
+                    position++;
+                }
+                text.append(buffer, start, position-start);
+            }
+        }
+        return true;
+    }
+
+    private final void readTag() throws IOException {
+    // Deletes the tag (or comment) starting at "position"; "<script>" and "<style>" get deleted with their content.
+        final int next = peek(1);
+        if (next == '!' && peek(2) == '-' && peek(3) == '-') {
+            position += 4;
+            skipUntil("-->");
+            text.append(' ');
+            return;
+        } else if (!isLetter(next) && next != '/' && next != '!' && next != '?') {
+            text.append('<'); // a single '<' (like in "a < b")
+            position++;
+            return;
+        }
+        position++;
+        final boolean closing = next == '/';
+        if (closing) {
+            position++;
+        }
+        final StringBuilder name = new StringBuilder();
+        while (isLetter(peek(0)) || (name.length() > 0 && peek(0) >= '0' && peek(0) <= '9')) {
+            name.append(Character.toLowerCase(buffer[position++]));
+        }
+        // skips the attributes (a '>' between quotes doesn't end the tag)
+        char quote = 0;
+        char last = 0;
+        int c;
+        while ((c = peek(0)) >= 0) {
+            position++;
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '>') {
+                break;
+            } else if ((c == '"' || c == '\'') && last == '=') {
+                quote = (char)c;
+            }
+            if (!Character.isWhitespace(c)) {
+                last = (char)c;
+            }
+        }
+        final String tag = name.toString();
+        if (!closing && last != '/' && (tag.equals("script") || tag.equals("style"))) {
+            skipUntil("</"+tag);
+            skipUntil(">");
+        }
+        text.append(BLOCKS.contains(tag)? '\n' : ' ');
+    }
+
+    private final void readEntity() throws IOException {
+    /* Replaces the entity starting at "position"; escaped tags (like "&lt;b&gt;") get deleted. A '&'
+     * that doesn't start an entity stays as it is. The replacement is added to the text and never
+     * looked at again, so an escaped entity like "&amp;amp;" becomes "&amp;". */
+        int length = 1;
+        while (length <= MAXIMUM_ENTITY_LENGTH && (isLetter(peek(length)) || (peek(length) >= '0' && peek(length) <= '9') || (length == 1 && peek(length) == '#'))) {
+            length++;
+        }
+        if (length == 1 || peek(length) != ';') {
+            text.append('&');
+            position++;
+            return;
+        }
+        String entity = new String(buffer, position+1, length-1);
+        for (String[] escapedTag : ESCAPED_TAGS) {
+            if (entity.equals(escapedTag[0])) {
+                final int end = find(escapedTag[1], length+1);
+                if (end >= 0) {
+                    position += end+escapedTag[1].length();
+                    text.append(' ');
+                    return;
+                }
+            }
+        }
+        if (entity.equals("amp")) {
+            // "&amp;" becomes '&', which is part of the text (so "&amp;nbsp;" becomes "&nbsp;")
+            text.append('&');
+            position += length+1;
+            return;
+        }
+        if (entity.startsWith("#")) {
+            try {
+                final int codePoint = (entity.startsWith("#x") || entity.startsWith("#X"))? Integer.parseInt(entity.substring(2), 16) : Integer.parseInt(entity.substring(1));
+                entity = "#"+Integer.toString(codePoint);
+                if (!ENTITIES.containsKey(entity) && Character.isValidCodePoint(codePoint)) {
+                    text.appendCodePoint(codePoint);
+                }
+            } catch (NumberFormatException nfe) { // not a valid number: the entity gets deleted
+            }
+        } else if (!ENTITIES.containsKey(entity)) {
+            text.append('&'); // an unknown entity stays as it is
+            position++;
+            return;
+        }
+        final String replacement = ENTITIES.get(entity);
+        if (replacement != null) {
+            text.append(replacement);
+        }
+        position += length+1;
+    }
+
+    private final int find(final String string, final int from) throws IOException {
+    /* Returns the offset (relative to "position") at which "string" can be found behind "from" or
+     * -1 if it can't be found within the next "MAXIMUM_LOOKAHEAD" characters. */
+        for (int offset=from; offset+string.length()<=MAXIMUM_LOOKAHEAD && peek(offset) >= 0; offset++) {
+            if (startsWith(string, offset, false)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private final void skipUntil(final String end) throws IOException {
+    // Skips all characters up to and including the next "end" (ignoring the case of the letters).
+        while (peek(0) >= 0) {
+            if (startsWith(end, 0, true)) {
+                position += end.length();
+                return;
+            }
+            position++;
+        }
+    }
+
+    private final boolean startsWith(final String string, final int offset, final boolean ignoreCase) throws IOException {
+        for (int i=0; i<string.length(); i++) {
+            final int c = peek(offset+i);
+            if (c < 0 || (c != string.charAt(i) && (!ignoreCase || Character.toLowerCase((char)c) != string.charAt(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final int peek(final int offset) throws IOException {
+    // Returns the character "offset" characters behind "position" (or -1 at the end of the document).
+        if (position+offset >= limit) {
+            fill(offset+1);
+            if (position+offset >= limit) {
+                return -1;
+            }
+        }
+        return buffer[position+offset];
+    }
+
+    private final void fill(final int needed) throws IOException {
+    // Moves the characters that haven't been worked on to the start of the buffer and reads more of them.
+        System.arraycopy(buffer, position, buffer, 0, limit-position);
+        limit -= position;
+        position = 0;
+        while (limit < needed && !endOfInput) {
+            final int read = reader.read(buffer, limit, buffer.length-limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    private static final boolean isLetter(final int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    @Override
+    public final void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,192 @@
+// HyphenClassifier.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.Arrays;
+
+/* A tool to decide in a single scan which hyphens and dashes should be kept (they get replaced with
+ * "YßßY") and which should be deleted (they get replaced with a space); dots behind single letters
+ * (like in "a." or "e.on") will be protected with "|ßß|" during the same scan. */
+final class HyphenClassifier {
+
+    private final static String MARKER = "YßßY";
+    private final static String DOT = "|ßß|";
+    private final static String[] CONJUNCTIONS = {" &", " und", " oder"};
+    private final static String SUFFIXES = "emnrst";
+
+    private HyphenClassifier() {
+    }
+
+    static final String apply(final String lines) {
+    /* Every hyphen or dash is looked at exactly once, together with the few characters around it:
+     *     - letter-dash-letter or umlaut-dash-umlaut (like in "e-mail") is kept,
+     *     - a dash between a letter or an umlaut and "&", "und", "oder" or ", " (like in "ein- und
+     *       ausgang") is kept (the comma gets deleted),
+     *     - digit-dash-suffix (like in "3-mal", suffixes: "e", "m", "n", "r", "s", "t") is kept,
+     *     - digit-dash-digit (like in "3 - 5") is kept and gets surrounded by spaces,
+     *     - all other hyphens and dashes get deleted.
+     * If the same characters alternate with several dashes in a row (like in "a-a-a", "1-1-1" or
+     * "und- und- und"), only every second dash is kept. */
+        final int length = lines.length();
+        final boolean[] protectedDots = protectDots(lines);
+        if (protectedDots == null && !containsDash(lines)) {
+            return lines;
+        }
+        final StringBuilder sb = new StringBuilder(length+length/8);
+        int lastPair = -3; // the position of the last kept dash between two letters or two umlauts
+        int lastConjunction = -1; // the position of the last character of the last conjunction behind a kept dash ...
+        char lastConjunctionStart = 0; // ... and the character in front of that dash
+        int lastRange = -1; // the position of the right digit of the last kept range of numbers ...
+        char lastRangeStart = 0; // ... and its left digit
+        for (int i=0; i<length; i++) {
+            final char c = lines.charAt(i);
+            if (c == '.') {
+                sb.append((protectedDots != null && protectedDots[i])? DOT : ".");
+                continue;
+            } else if (!isDash(c)) {
+                sb.append(c);
+                continue;
+            }
+            final char left = (i > 0)? lines.charAt(i-1) : 0;
+            final char right = (i+1 < length)? lines.charAt(i+1) : 0;
+            if (isLetter(left) || isUmlaut(left)) {
+                final int conjunction = findConjunction(lines, i+1);
+                if (conjunction >= 0) {
+                    if (lastConjunction == i-1 && lastConjunctionStart == left && lines.startsWith(CONJUNCTIONS[conjunction], i-CONJUNCTIONS[conjunction].length())) {
+                        sb.append(' '); // like in "und- und- und"
+                    } else {
+                        sb.append(MARKER);
+                        lastConjunction = i+CONJUNCTIONS[conjunction].length();
+                        lastConjunctionStart = left;
+                    }
+                } else if (lines.startsWith(", ", i+1)) {
+                    sb.append(MARKER);
+                    i++; // deletes the comma
+                } else if ((isLetter(left) && isLetter(right)) || (isUmlaut(left) && isUmlaut(right))) {
+                    if (left == right && lastPair == i-2 && lines.charAt(i-3) == left) {
+                        sb.append(' ');
+                    } else {
+                        sb.append(MARKER);
+                        lastPair = i;
+                    }
+                } else {
+                    sb.append(' ');
+                }
+                continue;
+            }
+            final int leftDigit = isDigit(left)? i-1 : (left == ' ' && i > 1 && isDigit(lines.charAt(i-2)))? i-2 : -1;
+            if (isDigit(left) && SUFFIXES.indexOf(right) >= 0) {
+                sb.append(MARKER);
+                continue;
+            }
+            final int rightDigit = isDigit(right)? i+1 : (right == ' ' && i+2 < length && isDigit(lines.charAt(i+2)))? i+2 : -1;
+            if (leftDigit < 0 || rightDigit < 0 || (lastRange == leftDigit && lastRangeStart == lines.charAt(leftDigit) && lines.charAt(leftDigit) == lines.charAt(rightDigit))) {
+                sb.append(' ');
+                continue;
+            }
+            if (leftDigit == i-2) {
+                sb.setLength(sb.length()-1); // deletes the space between the left digit and the dash
+            }
+            sb.append(' ').append(MARKER).append(' ');
+            lastRange = rightDigit;
+            lastRangeStart = lines.charAt(leftDigit);
+            i = rightDigit-1;
+        }
+        return sb.toString();
+    }
+
+    private static final boolean[] protectDots(final String lines) {
+    /* Returns which dots behind single letters have to be protected (or "null" if there aren't any).
+     * A dot gets protected if it follows " x" or if it is the second dot of ".x." (where "x" stands
+     * for any letter between 'a' and 'z'). The letters are processed in alphabetical order and
+     * every dot can only be protected once, so in ".x.y." only the dots around 'x' get protected
+     * (and in " x.y." only the first dot). */
+        final int length = lines.length();
+        long[] candidates = null;
+        int numberOfCandidates = 0;
+        for (int i=1; i+1<length; i++) {
+            final char c = lines.charAt(i);
+            if (isLetter(c) && lines.charAt(i+1) == '.' && (lines.charAt(i-1) == ' ' || lines.charAt(i-1) == '.')) {
+                if (candidates == null) {
+                    candidates = new long[16];
+                } else if (numberOfCandidates == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, numberOfCandidates*2);
+                }
+                // sorted by letter, then " x." before ".x.", then by position
+                candidates[numberOfCandidates++] = ((long)((c-'a')*2+(lines.charAt(i-1) == ' '? 0 : 1)) << 32) | i;
+            }
+        }
+        if (candidates == null) {
+            return null;
+        }
+        Arrays.sort(candidates, 0, numberOfCandidates);
+        final boolean[] protectedDots = new boolean[length];
+        long group = -1;
+        int lastDot = -1;
+        for (int i=0; i<numberOfCandidates; i++) {
+            final int position = (int)candidates[i];
+            if (candidates[i] >>> 32 != group) {
+                group = candidates[i] >>> 32;
+                lastDot = -1;
+            }
+            if ((group & 1) == 0) {
+                protectedDots[position+1] = true;
+            } else if (position-1 > lastDot && !protectedDots[position-1] && !protectedDots[position+1]) {
+                protectedDots[position-1] = true;
+                protectedDots[position+1] = true;
+                lastDot = position+1;
+            }
+        }
+        return protectedDots;
+    }
+
+    private static final int findConjunction(final String lines, final int start) {
+    // Returns the index of the conjunction in "CONJUNCTIONS" that starts at "start" (or -1).
+        for (int i=0; i<CONJUNCTIONS.length; i++) {
+            if (lines.startsWith(CONJUNCTIONS[i], start)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final boolean containsDash(final String lines) {
+        for (int i=0; i<lines.length(); i++) {
+            if (isDash(lines.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final boolean isDash(final char c) {
+    // '-', '–', '—' and the soft hyphen.
+        return c == '-' || c == '–' || c == '—' || c == '­';
+    }
+
+    private static final boolean isLetter(final char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static final boolean isUmlaut(final char c) {
+        return c == 'ä' || c == 'ö' || c == 'ü';
+    }
+
+    private static final boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,133 @@
+// LineReader.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/* A tool to read a text line by line into a given "StringBuilder" (so no "String" has to be created
+ * for every line). Lines are separated the same way as by "Scanner.nextLine()": by "\r\n", '\n',
+ * '\r', '\u2028', '\u2029' or '\u0085'. If "bytesCounted" is "true", the size of the decoded text
+ * in UTF-8 is counted as well (whatever the text has been read from, e.g. a compressed file). */
+final class LineReader implements Closeable {
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private long numberOfLines; // the lines read so far
+    private final boolean bytesCounted;
+    private long numberOfBytes; // the UTF-8 size of the characters read so far (if "bytesCounted")
+
+    LineReader(final Reader reader, final int bufferSize) {
+        this(reader, bufferSize, false);
+    }
+
+    LineReader(final Reader reader, final int bufferSize, final boolean bytesCounted) {
+        this.reader = reader;
+        buffer = new char[Math.max(bufferSize, 2)]; // a surrogate pair has to fit into the buffer
+        this.bytesCounted = bytesCounted;
+    }
+
+    final boolean hasNextLine() throws IOException {
+    // Returns "true" if there is at least one more character to read.
+        return position < limit || fill();
+    }
+
+    final boolean appendLine(final StringBuilder sb) throws IOException {
+    /* Appends the next line (without its line separator) to "sb" and returns "false" if there is no
+     * line left. */
+        if (!hasNextLine()) {
+            return false;
+        }
+        numberOfLines++;
+        while (true) {
+            final int start = position;
+            while (position < limit && !isLineSeparator(buffer[position])) {
+                position++;
+            }
+            sb.append(buffer, start, position-start);
+            if (position < limit) {
+                // skips the line separator (a "\r\n" might be split up by the end of the buffer)
+                if (buffer[position++] == '\r' && hasNextLine() && buffer[position] == '\n') {
+                    position++;
+                }
+                return true;
+            } else if (!fill()) {
+                return true; // the last line doesn't end with a line separator
+            }
+        }
+    }
+
+    final long getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    final long getNumberOfBytes() {
+        return numberOfBytes;
+    }
+
+    final boolean appendBatch(final StringBuilder sb, final int numberOfLines) throws IOException {
+    /* Replaces the content of "sb" with the next "numberOfLines" lines (or less at the end of the
+     * text), each of them surrounded by spaces; returns "false" if there is no line left. */
+        sb.setLength(0);
+        if (!hasNextLine()) {
+            return false;
+        }
+        sb.append(' ');
+        for (int i=0; i<numberOfLines && appendLine(sb); i++) {
+            sb.append(' ');
+        }
+        return true;
+    }
+
+    private final boolean fill() throws IOException {
+    // Reads the next characters into the buffer and returns "false" at the end of the text.
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        if (bytesCounted) {
+            countBytes();
+        }
+        return read > 0;
+    }
+
+    private final void countBytes() {
+    // Adds the UTF-8 size of the characters in the buffer (a surrogate pair needs 2+2 bytes).
+        long bytes = limit;
+        for (int i=0; i<limit; i++) {
+            final char c = buffer[i];
+            if (c >= 0x80) {
+                bytes += (c < 0x800 || Character.isSurrogate(c))? 1 : 2;
+            }
+        }
+        numberOfBytes += bytes;
+    }
+
+    private static final boolean isLineSeparator(final char c) {
+        return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+    }
+
+    @Override
+    public final void close() throws IOException {
+        reader.close();
+    }
+}
@@ -21,111 +21,332 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Main {
     
+    private static ExecutorService executor;
+    private static WebsiteCrawler crawler;
+    private final static List<Future<Boolean>> TASKS = new ArrayList<>(); // only filled by the main thread
+    private static int failedInputs; // the inputs that failed before they could be passed to "executor" (or "crawler")
+    private static TokenizerOptions options = TokenizerOptions.DEFAULT;
+    private static TokenizerEngine engine;
+    private static Scanner input; // the answers of the user (only if no inputs are given as arguments)
+    
     public static void main(String args[]) {
-        String address;
-        final Boolean extendedTokenization;
+    /* Works on the inputs (paths to files or directories and URLs) given as arguments; if there
+     * aren't any, the user is asked for the input and the settings. See "printUsage()" for all
+     * arguments. The program exits with the status 1 if an argument is invalid or if an input
+     * couldn't be tokenized, so batch jobs can find out about it. */
+        final List<String> inputs = new ArrayList<>();
+        String list = null; // a file containing URLs or paths
+        Boolean extendedTokenization = null;
+        String[] skippedStages = null; // stages of the tokenization that are left out (see "TokenizerPipeline")
         int allUTF8 = 0; // stays 0 if the user enters a single URL or path to a single file to tokenize
-        try (final Scanner scanner = new Scanner(System.in)) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int requests = 0; // the number of websites that get downloaded at the same time (0: as many as "threads")
+        for (int i=0; i<args.length; i++) {
+            if (args[i].equals("--help")) {
+                printUsage();
+                return;
+            } else if (args[i].equals("--warm-up")) { // compiles and exercises all patterns before the first file gets tokenized
+                PatternRegistry.warmUp();
+            } else if (args[i].equals("--memory-mapped")) { // maps the input files into memory instead of reading them through a buffer
+                options = options.withMemoryMapping(true);
+            } else if (args[i].equals("--binary")) { // writes the ids of the tokens instead of the tokens
+                options = options.withBinaryOutput(true);
+            } else if (args[i].equals("--gzip")) { // compresses the token files
+                options = options.withCompression(true);
+            } else if (args[i].equals("--metrics")) { // measures the stages of the tokenization and saves the results as JSON
+                options = options.withMetrics(true);
+            } else if (args[i].equals("--vocab")) { // counts the tokens and saves the vocabulary of all token files
+                options = options.withVocabulary(true);
+            } else if (args[i].equals("--mode") && i+1 < args.length) {
+                extendedTokenization = args[++i].equalsIgnoreCase("extended");
+                if (!extendedTokenization && !args[i].equalsIgnoreCase("standard")) {
+                    exitWithUsage("\""+args[i]+"\" is not a valid mode (\"standard\" or \"extended\").");
+                }
+            } else if (args[i].equals("--without") && i+1 < args.length) { // e.g. "--without dates,years"
+                skippedStages = args[++i].split(",");
+            } else if (args[i].equals("--charset") && i+1 < args.length) { // the charset of all input files
+                allUTF8 = args[++i].equalsIgnoreCase("UTF-8")? 1 : 2;
+                if (allUTF8 == 2 && !args[i].equalsIgnoreCase("default")) {
+                    exitWithUsage("\""+args[i]+"\" is not a valid charset (\"UTF-8\" or \"default\").");
+                }
+            } else if (args[i].equals("--list") && i+1 < args.length) {
+                list = args[++i];
+            } else if (args[i].equals("--output") && i+1 < args.length) {
+                try {
+                    options = options.withOutputDirectory(args[++i]);
+                } catch (IllegalArgumentException iae) {
+                    exitWithUsage(iae.getMessage());
+                }
+            } else if (args[i].equals("--threads") && i+1 < args.length) { // the number of files that get tokenized at the same time
+                try {
+                    threads = Math.max(1, Integer.parseInt(args[++i]));
+                } catch (NumberFormatException nfe) {
+                    exitWithUsage("\""+args[i]+"\" is not a valid number of threads.");
+                }
+            } else if (args[i].equals("--requests") && i+1 < args.length) { // the number of websites that get downloaded at the same time
+                try {
+                    requests = Math.max(1, Integer.parseInt(args[++i]));
+                } catch (NumberFormatException nfe) {
+                    exitWithUsage("\""+args[i]+"\" is not a valid number of requests.");
+                }
+            } else if (args[i].matches("--(workers|batch-size|read-buffer|write-buffer|flush-interval|min-count|top-k|cache)") && i+1 < args.length) { // options of the tokenizers
+                try {
+                    options = withOption(options, args[i], Integer.parseInt(args[i+1]));
+                } catch (IllegalArgumentException iae) { // includes "NumberFormatException"
+                    exitWithUsage("\""+args[i+1]+"\" is not a valid value for \""+args[i]+"\".");
+                }
+                i++;
+            } else if (args[i].startsWith("--")) { // includes the arguments above without their value
+                exitWithUsage("Unknown argument (or missing value): \""+args[i]+"\".");
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+        executor = Executors.newFixedThreadPool(threads);
+        crawler = new WebsiteCrawler((requests > 0)? requests : threads, executor);
+        final long startTime = System.nanoTime();
+        if (!inputs.isEmpty() || list != null) {
+            // Works on the inputs given as arguments without asking any questions.
+            engine = createEngine((extendedTokenization != null)? extendedTokenization : false, skippedStages);
+            if (allUTF8 == 0) {
+                allUTF8 = 2; // the default charset is used
+            }
+            for (String address : inputs) {
+                startProcess(address, "", allUTF8);
+            }
+            if (list != null) {
+                workOnList(list, allUTF8);
+            }
+        } else {
+            input = new Scanner(System.in); // the only "Scanner" reading "System.in" (closing it would close "System.in")
             System.out.println("Enter either \n\t- an URL or a path to a file that should be tokenized, OR\n\t- a path to a directory to tokenize all text files in it, OR\n\t- \"file\" to read several URLs or paths from a file to tokenize all of them:");
-            address = scanner.nextLine();
-            System.out.println("Should the extended tokenization feature be used? (Enter 'y' for \"yes\" or anything else for \"no\".)");
-            extendedTokenization = (scanner.nextLine().equalsIgnoreCase("y"))? true : false;
+            String address = input.nextLine();
+            if (extendedTokenization == null) {
+                System.out.println("Should the extended tokenization feature be used? (Enter 'y' for \"yes\" or anything else for \"no\".)");
+                extendedTokenization = (input.nextLine().equalsIgnoreCase("y"))? true : false;
+            }
+            engine = createEngine(extendedTokenization, skippedStages);
             if (address.equalsIgnoreCase("file")) {
                 System.out.println("Enter the path to the file you saved the URLs or paths in (every line of that file should contain exactly one URL or path; the paths can lead to both files and directories):");
-                address = scanner.nextLine();
-                try (final Scanner fileScanner = new Scanner(new FileInputStream(new File(address)))) {
-                    String currentAddressToWorkOn;
+                address = input.nextLine();
+                if (allUTF8 == 0) {
                     System.out.println("If the file contains paths to files you want to tokenize:\n\tAre all of these files UTF-8 encoded? (Enter 'y' for \"yes\" or anything else for \"no\" or to skip this question.)");
-                    allUTF8 = (scanner.nextLine().equalsIgnoreCase("y"))? 1 : 2;
-                    while (fileScanner.hasNextLine()) { // works on all URLs or paths found in the file
-                        currentAddressToWorkOn = fileScanner.nextLine().trim();
-                        if (!currentAddressToWorkOn.isEmpty()) {
-                            startProcess(currentAddressToWorkOn, "/"+address, extendedTokenization, allUTF8);
-                        }
-                    }
-                } catch (FileNotFoundException fnfe) {
-                    fnfe.printStackTrace();
+                    allUTF8 = (input.nextLine().equalsIgnoreCase("y"))? 1 : 2;
                 }
+                workOnList(address, allUTF8);
             } else {
-                startProcess(address, "", extendedTokenization, allUTF8);
+                startProcess(address, "", allUTF8);
             }
         }
+        final int failed = printSummary(startTime, threads);
         System.out.println("Program terminated.");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+    
+    private static final void exitWithUsage(final String message) {
+    // Prints the "message" about an invalid argument and the usage and exits with the status 1.
+        System.err.println(message);
+        printUsage();
+        System.exit(1);
+    }
+    
+    private static final void printUsage() {
+        System.out.println("Usage: java tokenizer4germantexts.Main [arguments] [URLs, files or directories]\n"
+                +"Without URLs, files or directories (or \"--list\") you will be asked for the input.\n"
+                +"\t--mode standard|extended\tthe tokenization to use (default: standard)\n"
+                +"\t--charset UTF-8|default\tthe charset of the input files (default: default)\n"
+                +"\t--list FILE\t\ttokenizes all URLs and paths found in FILE (one per line)\n"
+                +"\t--output DIRECTORY\tthe directory of the token files (default: token_files)\n"
+                +"\t--threads N\t\tthe number of inputs tokenized at the same time\n"
+                +"\t--requests N\t\tthe number of websites downloaded at the same time\n"
+                +"\t--workers N\t\tthe number of threads tokenizing a single file\n"
+                +"\t--vocab\t\t\tsaves the vocabulary of all token files (--min-count N, --top-k N)\n"
+                +"\t--binary\t\twrites the ids of the tokens (as varints) instead of the tokens\n"
+                +"\t--without STAGES\tleaves out stages of the tokenization (e.g. \"dates,years\")\n"
+                +"\t--cache N\t\tcaches the words of up to N numbers and years (extended tokenization)\n"
+                +"\t--metrics\t\tmeasures the tokenization (via JMX and in \"metrics.json\")\n"
+                +"\t--gzip\t\t\tcompresses the token files (input files ending with \".gz\" are always decompressed)\n"
+                +"\t--batch-size N, --read-buffer N, --write-buffer N, --flush-interval N, --memory-mapped, --warm-up");
+    }
+    
+    private static final TokenizerEngine createEngine(final boolean extendedTokenization, final String[] skippedStages) {
+    // Creates the engine of the selected mode (without the "skippedStages", if there are any).
+        if (skippedStages != null) {
+            try {
+                options = options.withPipeline(TokenizerPipeline.of(extendedTokenization).without(skippedStages));
+            } catch (IllegalArgumentException iae) {
+                exitWithUsage(iae.getMessage());
+            }
+        }
+        return new TokenizerEngine(extendedTokenization, options);
     }
     
-    private static final void startProcess(String address, final String target, final boolean extendedTokenization, final int allUTF8) {
+    private static final void workOnList(final String address, final int allUTF8) {
+    // Works on all URLs or paths found in the file with the path "address".
+        try (final Scanner fileScanner = new Scanner(new FileInputStream(new File(address)))) {
+            String currentAddressToWorkOn;
+            while (fileScanner.hasNextLine()) {
+                currentAddressToWorkOn = fileScanner.nextLine().trim();
+                if (!currentAddressToWorkOn.isEmpty()) {
+                    startProcess(currentAddressToWorkOn, "/"+address, allUTF8);
+                }
+            }
+        } catch (FileNotFoundException fnfe) {
+            fnfe.printStackTrace();
+            failedInputs++;
+        }
+    }
+    
+    private static final TokenizerOptions withOption(final TokenizerOptions options, final String option, final int value) {
+    /* Returns a copy of the "options" with the "value" of the "option" (see "TokenizerOptions"):
+     *     "--workers": the number of threads that tokenize a single file,
+     *     "--batch-size": the number of lines that are tokenized at once,
+     *     "--read-buffer": the size of the read buffer (in characters),
+     *     "--write-buffer": the size of the write buffer (in bytes),
+     *     "--min-count": the minimal count of a token in the vocabulary,
+     *     "--top-k": the maximal number of tokens in the vocabulary,
+     *     "--cache": the maximal number of cached words of numbers and years,
+     *     "--flush-interval": the number of batches after which the output file gets flushed. */
+        if (option.equals("--workers")) {
+            return options.withWorkers(value);
+        } else if (option.equals("--batch-size")) {
+            return options.withBatchSize(value);
+        } else if (option.equals("--read-buffer")) {
+            return options.withReadBufferSize(value);
+        } else if (option.equals("--write-buffer")) {
+            return options.withWriteBufferSize(value);
+        } else if (option.equals("--min-count")) {
+            return options.withMinCount(value);
+        } else if (option.equals("--top-k")) {
+            return options.withTopK(value);
+        } else if (option.equals("--cache")) {
+            return options.withVerbalizationCache(value);
+        }
+        return options.withFlushInterval(value);
+    }
+    
+    private static final int printSummary(final long startTime, final int threads) {
+    /* Waits until all files have been tokenized, prints how many of them were successful and
+     * returns the number of inputs that failed. */
+        int successful = 0;
+        for (Future<Boolean> task : TASKS) {
+            try {
+                if (task.get()) {
+                    successful++;
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        executor.shutdown();
+        engine.writeVocabulary(); // only if the vocabulary has been counted or the token files are binary
+        engine.writeMetrics(); // only if the tokenization has been measured
+        final VerbalizationCache cache = engine.getVerbalizationCache();
+        if (cache != null && cache.getHits()+cache.getMisses() > 0) {
+            System.out.println("Numbers and years taken from the cache: "+Long.toString(cache.getHits())+" of "+Long.toString(cache.getHits()+cache.getMisses())+" ("+Long.toString(Math.round(cache.getHitRate()*100))+"%).");
+        }
+        final int numberOfInputs = TASKS.size()+failedInputs;
+        if (numberOfInputs > 1) {
+            System.out.println(Integer.toString(successful)+" of "+Integer.toString(numberOfInputs)+" inputs tokenized successfully in "+Long.toString((System.nanoTime()-startTime)/1000000)+" ms (using "+Integer.toString(threads)+" threads).");
+        }
+        engine.close();
+        return numberOfInputs-successful;
+    }
+    
+    private static final void startProcess(final String address, final String target, final int allUTF8) {
     /* Tries to open the "address" as an URL. If "MalformedURLException" is raised, the program
      * checks if a directory or a file exists that has got the "address" as path; if not, the
      * program will be terminated (as long as allUTF8 == 0, which would mean that the program is
      * not already working on a directory or the content of a file containing URLs or paths to
-     * files). */
+     * files).
+     * The website or file will be tokenized by one of the threads of "executor", so several files
+     * can be tokenized at the same time; websites (with "http" or "https" URLs) are downloaded by
+     * "crawler". */
         String charset = "default";
         try {
-            /* Starts "Webloader". If there is both a problem opening the URL and neither a "file"
-             * containing URLs or paths nor a directory containing text files used (so only one
-             * file or URL should be tokenized), the program will be terminated. */
             final URL url = new URL(address);
-            final boolean websiteLoaded = new Webloader(url).loadWebsite();
-            if (!websiteLoaded && allUTF8 == 0) {
-                System.err.println("Program terminated.");
-                System.exit(0);
-            } else if (!websiteLoaded) {
-                throw new Exception();
+            if (url.getProtocol().equals("http") || url.getProtocol().equals("https")) {
+                // Lets "crawler" download the website and tokenizes its text as soon as it arrives.
+                try {
+                    TASKS.add(crawler.fetch(url.toURI(), text -> engine.tokenize(text, target, "default") != null));
+                } catch (URISyntaxException use) {
+                    System.err.println("The tokenization of \""+url+"\" has failed (invalid URL).");
+                    failedInputs++;
+                }
+                return;
             }
-            address = "temp";
-            System.out.println("Working on a website (\""+url+"\")...");
+            // Starts "Webloader" and tokenizes the text of the website while it is being downloaded.
+            TASKS.add(executor.submit(() -> {
+                final Webloader webloader = new Webloader(url);
+                if (!webloader.loadWebsite()) {
+                    System.err.println("The tokenization of \""+url+"\" has failed.");
+                    return false;
+                }
+                System.out.println("Working on a website (\""+url+"\")...");
+                return engine.tokenize(webloader.getText(), target, "default") != null;
+            }));
+            return;
         } catch (MalformedURLException mue) {
             final File pathToCheck = new File(address);
             if (pathToCheck.isDirectory()) {
-                workOnDirectory(address, extendedTokenization, allUTF8);
+                workOnDirectory(address, allUTF8);
                 return;
             } else if(!pathToCheck.exists()) {
                 System.err.println("Your entry couldn't be classified! Neighter a file nor a valid URL corresponding to your entry was found.");
                 if (allUTF8 == 0) {
                     System.out.println("Program terminated.");
-                    System.exit(0);
+                    System.exit(1);
                 } else {
                     System.err.println("The tokenization of \""+address+"\" has failed.");
+                    failedInputs++;
                     return;
                 }
             } else {
                 System.out.println("Working on a file(\""+address+"\")...");
                 if (allUTF8 == 0) {
                     System.out.println("Is the file you want to tokenize UTF-8 encoded? (Enter 'y' for \"yes\" or anything else for \"no\".)");
-                    try (final Scanner scanner = new Scanner(System.in)) {
-                        charset = (scanner.nextLine().equalsIgnoreCase("y"))? "UTF-8" : "default";
-                    }
+                    charset = (input.nextLine().equalsIgnoreCase("y"))? "UTF-8" : "default";
                 } else if (allUTF8 == 1) {
                     charset = "UTF-8";
                 }
             }
-        } catch (Exception e) {
-            return;
         }
-        /* Starts tokenizing the file "temp" (if the user has entered an URL) or the file with
-         * "address" as path. */
-        new Tokenizer(address, target, charset, extendedTokenization);
+        // Starts tokenizing the file with "address" as path.
+        final String fileCharset = charset;
+        TASKS.add(executor.submit(() -> engine.tokenizeFile(address, target, fileCharset) != null));
     }
     
-    private static final void workOnDirectory(final String address, final boolean extendedTokenization, int allUTF8) {
+    private static final void workOnDirectory(final String address, int allUTF8) {
     /* Passes all files found in the directory with the path "address" back to the method
      * "startProcess()" where they will finally be passed to the tokenizer. */
-        try (final Scanner scanner = new Scanner(System.in)) {
-            if (allUTF8 == 0) {
-                System.out.println("You're about to tokenize all the files in the directory \""+address+"\".\nAre all of those files UTF-8 encoded? (Enter 'y' for \"yes\" or anything else for \"no\".)");
-                allUTF8 = (scanner.nextLine().equalsIgnoreCase("y"))? 1 : 2;
-            }
-            final File directory = new File(address);
-            final File[] filesInDirectory = directory.listFiles();
-            for (File file : filesInDirectory) { // works on all files found in the directory
-                if (file.isFile()) {
-                    startProcess(directory+"/"+file.getName(), "/"+directory, extendedTokenization, allUTF8);
-                }
+        if (allUTF8 == 0) {
+            System.out.println("You're about to tokenize all the files in the directory \""+address+"\".\nAre all of those files UTF-8 encoded? (Enter 'y' for \"yes\" or anything else for \"no\".)");
+            allUTF8 = (input.nextLine().equalsIgnoreCase("y"))? 1 : 2;
+        }
+        final File directory = new File(address);
+        final File[] filesInDirectory = directory.listFiles();
+        if (filesInDirectory == null) {
+            System.err.println("The directory \""+address+"\" couldn't be read.");
+            failedInputs++;
+            return;
+        }
+        for (File file : filesInDirectory) { // works on all files found in the directory
+            if (file.isFile()) {
+                startProcess(directory+"/"+file.getName(), "/"+directory, allUTF8);
             }
         }
     }
@@ -0,0 +1,86 @@
+// MappedFileReader.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+
+/* A "Reader" that maps a file into memory window by window and decodes its characters directly from
+ * the mapped windows (so the content of the file is neither copied into a byte buffer on the heap nor
+ * held in memory as a whole, no matter how big the file is). */
+final class MappedFileReader extends Reader {
+
+    final static long DEFAULT_WINDOW_SIZE = 64L*1024*1024;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final long size;
+    private final long windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean finished;
+
+    MappedFileReader(final FileChannel channel, final CharsetDecoder decoder, final long windowSize) throws IOException {
+        this.channel = channel;
+        this.decoder = decoder;
+        this.windowSize = Math.max(windowSize, 16); // every window has to be big enough for at least one character
+        size = channel.size();
+    }
+
+    @Override
+    public final int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        final CharBuffer chars = CharBuffer.wrap(cbuf, off, len);
+        while (!finished && chars.position() == off) {
+            if (window == null) {
+                map(0);
+            }
+            final boolean lastWindow = windowStart+window.limit() == size;
+            final CoderResult result = decoder.decode(window, chars, lastWindow);
+            if (result.isError()) {
+                result.throwException();
+            } else if (result.isUnderflow()) {
+                if (lastWindow) {
+                    decoder.flush(chars);
+                    finished = true;
+                } else {
+                    map(windowStart+window.position()); // the next window starts with the bytes that couldn't be decoded yet
+                }
+            }
+        }
+        return (chars.position() == off)? -1 : chars.position()-off;
+    }
+
+    private final void map(final long start) throws IOException {
+    // Maps the next window of the file (starting at the byte "start").
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size-start));
+    }
+
+    @Override
+    public final void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
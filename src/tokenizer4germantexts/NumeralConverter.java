@@ -0,0 +1,428 @@
+// NumeralConverter.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+// A tool to replace numbers with their corresponding German numerals (words) in a single scan.
+final class NumeralConverter {
+
+    private final static String[] FIRST_PART_OF_NUMERAL = {"ein", "zwei", "drei", "vier", "fünf", "sechs", "sieben", "acht", "neun"};
+    final static String[][] MONTHS = {{"januar ", "jan ", "jan."}, {"februar ", "feb ", "feb."}, {"märz ", "mär ", "mär.", "mar ", "mar."}, {"april ", "apr ", "apr."}, {"mai ", "may "}, {"juni ", "jun ", "jun."}, {"juli ", "jul ", "jul."}, {"august ", "aug ", "aug."}, {"september ", "sep ", "sep."}, {"oktober ", "okt ", "okt.", "oct ", "oct."}, {"november ", "nov", "nov."}, {"dezember ", "dez ", "dez.", "dec ", "dec."}};
+    private final static String[] DECADES = {"zehn", "zwanzig", "dreißig", "vierzig", "fünfzig", "sechzig", "siebzig", "achtzig", "neunzig"};
+    private final static String[] ORDINAL_NUMBERS = {"erst", "zweit", "dritt", "viert", "fünft", "sechst", "siebt", "acht", "neunt"};
+    private final static String[][] PRE_CHARS = {{" am ", " an der ", " an dieser ", " den ", " des ", "einen ", "em ", " in der ", " in dieser ", "nes ", " seit ", " vom ", " zum "}, {" das ", " der ", " die ", " dieser ", " dieses ", " jede ", " jeder ", " jedes "}};
+    private final static String[] CASE_MARKERS = {"n ", " "};
+    private final static String[] TIMES = {"x i", "x am ", "x pro "};
+    private final static String MARKER = "YßßY";
+
+    private NumeralConverter() {
+    }
+
+    static final String replaceNumbers(final String lines, final VerbalizationCache cache) {
+    /* Replaces numbers with their corresponding German words (e.g. "24" will be replaced with
+     * "vierundzwanzig" (German for "twenty-four"), "10mal" will be replaced with "zehnmal" ("ten
+     * times"), and "5ter" will be replaced with "fünfter" ("fifth")).
+     * Every number that follows a space is looked at exactly once: its digits (and the dots of
+     * numbers like "1.000.000"), its left context (articles and prepositions that require an
+     * ordinal number) and its right context (suffixes like "te", "mal" or "x pro" and names of
+     * months) decide about the words it will be replaced with. If there is a "cache", the words of
+     * numbers that have already been converted in the same context are taken from it. */
+        final int length = lines.length();
+        StringBuilder sb = null;
+        int copied = 0;
+        int i = 1;
+        while (i < length) {
+            if (!isDigit(lines.charAt(i)) || !(i == copied? sb.charAt(sb.length()-1) == ' ' : lines.charAt(i-1) == ' ')) {
+                i++;
+                continue;
+            }
+            final StringBuilder number = new StringBuilder();
+            int end = i;
+            while (end < length && isDigit(lines.charAt(end))) {
+                number.append(lines.charAt(end++));
+            }
+            /* Collects the digits behind the dots of numbers like "1.000.000" (the positions of
+             * these dots are counted from the right end of the number). */
+            int dots = 0;
+            boolean valid = true;
+            while (end+1 < length && lines.charAt(end) == '.' && isDigit(lines.charAt(end+1))) {
+                end++;
+                while (end < length && isDigit(lines.charAt(end))) {
+                    number.append(lines.charAt(end++));
+                }
+            }
+            if (end-i > number.length()) {
+                int digitsBehind = 0;
+                for (int j=end-1; j>=i; j--) {
+                    if (lines.charAt(j) == '.') {
+                        if (digitsBehind == 3) {
+                            dots |= 1;
+                        } else if (digitsBehind == 6) {
+                            dots |= 2;
+                        } else {
+                            valid = false;
+                        }
+                    } else {
+                        digitsBehind++;
+                    }
+                }
+            }
+            final Conversion conversion;
+            if (!valid) {
+                conversion = null;
+            } else if (cache == null) {
+                conversion = convert(lines, i, end, number.toString(), dots);
+            } else {
+                conversion = convertCached(lines, i, end, number.toString(), dots, cache);
+            }
+            if (conversion == null) {
+                i = end;
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length+length/4);
+            }
+            sb.append(lines, copied, i).append(conversion.words);
+            copied = conversion.end;
+            i = conversion.end;
+        }
+        if (sb == null) {
+            return lines;
+        }
+        return sb.append(lines, copied, length).toString();
+    }
+
+    private static final Conversion convertCached(final String lines, final int start, final int end, final String number, final int dots, final VerbalizationCache cache) {
+    // Looks the number up in the "cache" before it gets converted (and adds the result to the "cache").
+        final String key = cacheKey(lines, start, end);
+        final VerbalizationCache.Verbalization cached = cache.get(key);
+        if (cached != null) {
+            return (cached == VerbalizationCache.UNCHANGED)? null : new Conversion(cached.words, start+cached.length);
+        }
+        final Conversion conversion = convert(lines, start, end, number, dots);
+        cache.put(key, (conversion == null)? VerbalizationCache.UNCHANGED : new VerbalizationCache.Verbalization(conversion.words, conversion.end-start));
+        return conversion;
+    }
+
+    private static final String cacheKey(final String lines, final int start, final int end) {
+    /* Returns the number (as it is written) together with everything "convert()" looks at: if the
+     * number is followed by a space, nothing else matters; if it is followed by ". ", the next
+     * token (a month?) and the class of the words in front of the number (the articles and
+     * prepositions of "PRE_CHARS") decide about the ordinal number; otherwise the rest of its token
+     * (the suffix) decides (and the next token as well if the number is followed by "x "). */
+        final int length = lines.length();
+        int contextEnd = end;
+        char context = '0';
+        if (end < length && lines.charAt(end) == ' ') {
+            contextEnd = end+1;
+        } else if (end < length) {
+            final boolean ordinal = lines.startsWith(". ", end);
+            contextEnd = nextSpace(lines, end);
+            if (ordinal || lines.startsWith("x ", end)) {
+                contextEnd = nextSpace(lines, contextEnd+1);
+            }
+            contextEnd = Math.min(contextEnd+1, length); // includes the space
+            if (ordinal) {
+                context += (endsWithPreChar(lines, start, 0)? 1 : 0)+(endsWithPreChar(lines, start, 1)? 2 : 0);
+            }
+        }
+        return new StringBuilder(contextEnd-start+2).append('n').append(context).append(lines, start, contextEnd).toString();
+    }
+
+    private static final int nextSpace(final String lines, final int index) {
+    // Returns the position of the next space at or behind "index" (or the length of "lines").
+        final int space = lines.indexOf(' ', index);
+        return (space < 0)? lines.length() : space;
+    }
+
+    private static final Conversion convert(final String lines, final int start, final int end, final String number, final int dots) {
+    /* Returns the words the number (which starts at "start" and ends at "end" of "lines") will be
+     * replaced with or "null" if the number should remain unchanged. "dots" is 0 if the number
+     * was written without dots (dots are only allowed in front of the last three or six digits). */
+        final int digits = number.length();
+        int leadingZeros = 0;
+        while (leadingZeros < digits && number.charAt(leadingZeros) == '0') {
+            leadingZeros++;
+        }
+        if (leadingZeros == digits) {
+            return (dots == 0)? convertZero(lines, end) : null;
+        }
+        final int firstDigit = number.charAt(leadingZeros)-'0';
+        if (leadingZeros > 0 || digits == 1) {
+            // Only the numbers from 1 to 9 may start with zeros.
+            return (leadingZeros == digits-1 && dots == 0)? convertDigit(lines, start, end, firstDigit, leadingZeros) : null;
+        }
+        if (digits == 2 && dots == 0) {
+            return convertTwoDigits(lines, start, end, firstDigit*10+number.charAt(1)-'0');
+        }
+        for (int i=1; i<digits; i++) {
+            if (number.charAt(i) != '0') {
+                return null;
+            }
+        }
+        // The numbers from here on consist of a digit followed by zeros (e.g. "300" or "5.000").
+        final String firstPart = FIRST_PART_OF_NUMERAL[firstDigit-1];
+        switch (digits) {
+        case 3:
+            return convertWithSuffix(lines, end, firstPart+"hundert", true, " ", "st", "e", "mal");
+        case 4:
+            return convertWithSuffix(lines, end, firstPart+"tausend", true, " ", "mal", "st", "e");
+        case 5:
+            return convertWithSuffix(lines, end, DECADES[firstDigit-1]+"tausend", false, " ");
+        case 6:
+            return convertWithSuffix(lines, end, firstPart+"hunderttausend", false, " ");
+        case 7:
+            return convertWithSuffix(lines, end, (firstDigit == 1)? "eine Million" : firstPart+" Millionen", false, " ");
+        case 8:
+            return convertWithSuffix(lines, end, DECADES[firstDigit-1]+" Millionen", false, " ");
+        default:
+            return null;
+        }
+    }
+
+    private static final Conversion convertZero(final String lines, final int end) {
+    // Replaces "0", "00", ... (also in front of some suffixes) with "null".
+        if (lines.startsWith(" ", end) || lines.startsWith("e", end) || lines.startsWith("te", end) || lines.startsWith("mal ", end)) {
+            return new Conversion("null", end);
+        } else if (lines.startsWith(MARKER, end)) {
+            return new Conversion("null", end+MARKER.length());
+        }
+        return null;
+    }
+
+    private static final Conversion convertDigit(final String lines, final int start, final int end, final int digit, final int leadingZeros) {
+    // Replaces the numbers from 1 to 9 (which can be written with leading zeros like "05").
+        final Conversion ordinalNumber = convertOrdinalNumber(lines, start, end, digit, leadingZeros < 2);
+        if (ordinalNumber != null) {
+            return ordinalNumber;
+        }
+        if (digit == 1) {
+            if (lines.startsWith(" ", end)) {
+                return new Conversion("eins", end);
+            } else if (lines.startsWith("mal", end)) {
+                return new Conversion("ein", end);
+            }
+            return convertMultiplier(lines, end, "ein");
+        }
+        final String numeral = FIRST_PART_OF_NUMERAL[digit-1];
+        if (lines.startsWith(" ", end)) {
+            return new Conversion(numeral, end);
+        } else if (leadingZeros > 0) {
+            return null;
+        } else if (lines.startsWith("e", end) || lines.startsWith("mal", end)) {
+            return new Conversion(numeral, end);
+        }
+        final Conversion multiplier = convertMultiplier(lines, end, numeral);
+        if (multiplier != null) {
+            return multiplier;
+        }
+        if (digit == 3 || digit == 7) {
+            // "3te" becomes "dritte" and "7te" becomes "siebte" (instead of "dreite" or "siebente").
+            final String ordinal = (digit == 3)? "dritte" : "siebte";
+            if (lines.startsWith("te", end)) {
+                return new Conversion(ordinal, end+2);
+            } else if (lines.startsWith(MARKER+"te", end)) {
+                return new Conversion(ordinal, end+MARKER.length()+2);
+            } else if (lines.startsWith(MARKER+"e", end)) {
+                return new Conversion(numeral, end+MARKER.length());
+            }
+            return null;
+        }
+        return convertWithSuffix(lines, end, numeral, true, "te");
+    }
+
+    private static final Conversion convertTwoDigits(final String lines, final int start, final int end, final int number) {
+    // Replaces the numbers from 10 to 99.
+        final Conversion ordinalNumber = convertOrdinalNumber(lines, start, end, number, true);
+        if (ordinalNumber != null) {
+            return ordinalNumber;
+        }
+        final String numeral = cardinalNumber(number);
+        if (number%10 == 0) {
+            final Conversion decade = convertWithSuffix(lines, end, numeral, false, " ", "te", "e", "mal");
+            if (decade != null) {
+                return decade;
+            } else if (lines.startsWith(MARKER+"t", end)) {
+                return new Conversion(numeral, end+MARKER.length());
+            } else if (number > 10 && lines.startsWith("st", end)) {
+                return new Conversion(numeral, end);
+            } else if (number > 10 && lines.startsWith(MARKER+"st", end)) {
+                return new Conversion(numeral, end+MARKER.length());
+            }
+            return convertMultiplier(lines, end, numeral);
+        } else if (number < 20) {
+            final Conversion teen = convertWithSuffix(lines, end, numeral, true, " ", "te", "e", "mal");
+            return (teen != null)? teen : convertMultiplier(lines, end, numeral);
+        }
+        final Conversion tens = convertWithSuffix(lines, end, numeral, false, " ", "st", "e", "mal");
+        if (tens != null) {
+            return tens;
+        } else if (lines.startsWith(MARKER+"st", end) || lines.startsWith(MARKER+"e", end)) {
+            return new Conversion(numeral, end+MARKER.length());
+        }
+        return (number < 50)? convertMultiplier(lines, end, numeral) : null;
+    }
+
+    private static final Conversion convertOrdinalNumber(final String lines, final int start, final int end, final int number, final boolean monthAllowed) {
+    /* Replaces numbers followed by ". " with ordinal numbers if there is an article or a
+     * preposition ("preChar") in front of them or a name of a month behind them (e.g. "am 3. " will
+     * be replaced with "am dritten " and "3. mai" with "dritter mai"). Note that months are only
+     * checked for days that can occur in them. */
+        if (!lines.startsWith(". ", end)) {
+            return null;
+        }
+        final String ordinalNumber = ordinalNumber(number);
+        final boolean preChar0 = endsWithPreChar(lines, start, 0);
+        if (!preChar0 && (number == 11 || number == 12)) {
+            // "11." and "12." are checked for "januar" before the second group of "preChars".
+            final int monthEnd = findMonth(lines, end+2, 0);
+            if (monthEnd > 0) {
+                return new Conversion(ordinalNumber+"r "+MONTHS[0][0], monthEnd);
+            }
+        }
+        if (preChar0) {
+            return new Conversion(ordinalNumber+CASE_MARKERS[0].trim(), end+1);
+        } else if (endsWithPreChar(lines, start, 1)) {
+            return new Conversion(ordinalNumber+CASE_MARKERS[1].trim(), end+1);
+        } else if (!monthAllowed || number > 31) {
+            return null;
+        }
+        for (int i=0; i<MONTHS.length; i++) {
+            if (number == 31 && i == 1) { // february has never got more than 29 days
+                continue;
+            }
+            final int monthEnd = findMonth(lines, end+2, i);
+            if (monthEnd > 0) {
+                return new Conversion(ordinalNumber+"r "+MONTHS[i][0], monthEnd);
+            }
+        }
+        return null;
+    }
+    
+    private static final Conversion convertMultiplier(final String lines, final int end, final String numeral) {
+    // Replaces numbers followed by 'x' meaning "times" (e.g. "3x pro Tag" becomes "dreimal pro tag").
+        for (String times : TIMES) {
+            if (lines.startsWith(times, end)) {
+                return new Conversion(numeral+"mal", end+1);
+            }
+        }
+        return null;
+    }
+
+    private static final Conversion convertWithSuffix(final String lines, final int end, final String numeral, final boolean markerAllowed, final String... suffixes) {
+    /* Replaces a number with "numeral" if it is followed by one of the "suffixes" (which stay
+     * unchanged) or - if "markerAllowed" - by a saved hyphen (which will be deleted). */
+        for (String suffix : suffixes) {
+            if (lines.startsWith(suffix, end)) {
+                return new Conversion(numeral, end);
+            }
+        }
+        if (markerAllowed && lines.startsWith(MARKER, end)) {
+            return new Conversion(numeral, end+MARKER.length());
+        }
+        return null;
+    }
+
+    private static final boolean endsWithPreChar(final String lines, final int start, final int group) {
+    // Returns "true" if the text in front of the number ends with one of the "preChars" of "group".
+        for (String preChar : PRE_CHARS[group]) {
+            if (lines.startsWith(preChar, start-preChar.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final int findMonth(final String lines, final int index, final int month) {
+    // Returns the end of the name of the "month" found at "index" or -1 if there is none.
+        for (String name : MONTHS[month]) {
+            if (lines.startsWith(name, index)) {
+                return index+name.length();
+            }
+        }
+        return -1;
+    }
+
+    static final String cardinalNumber(final int number) {
+    /* Returns the German word for a number between 1 and 99 (note that, for example, 16 becomes
+     * "sechszehn" and 1 becomes "ein"). */
+        if (number < 10) {
+            return FIRST_PART_OF_NUMERAL[number-1];
+        } else if (number%10 == 0) {
+            return DECADES[number/10-1];
+        } else if (number == 11) {
+            return "elf";
+        } else if (number == 12) {
+            return "zwölf";
+        } else if (number == 17) {
+            return "siebzehn";
+        } else if (number < 20) {
+            return FIRST_PART_OF_NUMERAL[number-11]+"zehn";
+        }
+        return FIRST_PART_OF_NUMERAL[number%10-1]+"und"+DECADES[number/10-1];
+    }
+
+    static final String year(final int year) {
+    /* Returns the German words for a year between 100 and 2099 (e.g. "neunzehnhundertfünfundsiebzig"
+     * for 1975) or "null" if the year should remain unchanged (this is the case for the full
+     * centuries up to 1000 and for 2000, which have already been replaced by "replaceNumbers()"). */
+        final int century = year/100;
+        final int rest = year%100;
+        if (rest == 0) {
+            return (year > 1099 && year != 2000)? century(century) : null;
+        }
+        return century(century)+((rest == 1)? "eins" : cardinalNumber(rest));
+    }
+
+    private static final String century(final int century) {
+    /* Returns the German word for the first part of a year of the given century (between 1 and
+     * 20), e.g. "neunzehnhundert" for 19 or "zweitausend" for 20. */
+        if (century%10 == 0) {
+            return FIRST_PART_OF_NUMERAL[century/10-1]+"tausend";
+        } else if (century < 10) {
+            return FIRST_PART_OF_NUMERAL[century-1]+"hundert";
+        } else if (century == 16) {
+            return "sechzehnhundert";
+        }
+        return cardinalNumber(century)+"hundert";
+    }
+
+    private static final String ordinalNumber(final int number) {
+    // Returns the German ordinal number for a number between 1 and 99 (e.g. "dritte" for 3).
+        if (number < 10) {
+            return ORDINAL_NUMBERS[number-1]+"e";
+        } else if (number < 20) {
+            return cardinalNumber(number)+"te";
+        }
+        return cardinalNumber(number)+"ste";
+    }
+
+    private static final boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static final class Conversion {
+    // The words a number will be replaced with and the end of the replaced part of the text.
+
+        private final String words;
+        private final int end;
+
+        private Conversion(final String words, final int end) {
+            this.words = words;
+            this.end = end;
+        }
+    }
+}
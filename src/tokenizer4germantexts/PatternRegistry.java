@@ -0,0 +1,218 @@
+// PatternRegistry.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/* The regular expressions used by "Tokenizer". All of them get compiled exactly once
+ * (when this class is loaded) and are stored in immutable sequences of rewrites that have to be
+ * applied in the given order. */
+final class PatternRegistry {
+
+    private final static String[] UMLAUTE = {"ä", "ö", "ü"};
+    private final static List<Rewrite[]> ALL = new ArrayList<>();
+
+    // Used by the stages of "BuiltInStage".
+    final static Rewrite[] BRACKETS_AND_SPACES = register(
+            new Rewrite("[\\(\\)\\[\\]\\s+]", " "));
+    final static Rewrite[] EXTENDED_DIGITS = register(extendedDigits());
+    final static Rewrite[] STANDARD_DIGITS = register(standardDigits());
+    final static Rewrite[] PUNCTUATION = register(
+            new Rewrite("[;:!#_<>~…„“”»«›‹•·‚¨\"\\^\\*\\?\\{\\}\\\\]", " "),
+            new Rewrite(" ‘", " "),
+            new Rewrite("‘ ", " "),
+            new Rewrite(" `", " "),
+            new Rewrite("` ", " "),
+            new Rewrite(" ´", " "),
+            new Rewrite("´ ", " "),
+            new Rewrite(" ’", " "),
+            new Rewrite("’ ", " "));
+    final static Rewrite[] UMLAUT_DOTS = register(umlautDots());
+    final static Rewrite[] SEPARATORS = register(
+            new Rewrite("[,/\\.]", " "),
+            new Rewrite("[‘’'´`]", ""),
+            new Rewrite("\\|ßß\\|", "."),
+            new Rewrite("= = = = =", " "),
+            new Rewrite("= = = =", " "),
+            new Rewrite("= = =", " "),
+            new Rewrite("= =", " "),
+            new Rewrite("===+", " "));
+    final static Rewrite[] EXTENDED_SYMBOLS = register(extendedSymbols());
+    final static Rewrite[] STANDARD_SYMBOLS = register(standardSymbols());
+    final static Rewrite[] SINGLE_CHARACTERS = register(
+            new Rewrite(" \\D ", " "));
+    final static Rewrite[] ZERO_MINUTES = register(
+            new Rewrite(" uhr null ", " uhr "));
+    final static Rewrite[] MARKERS = register( // only used for lines with other whitespace than spaces (see "TextTokenizer.restoreMarkers()")
+            new Rewrite("YßßY", "-"),
+            new Rewrite(" XßßX ", " : "),
+            new Rewrite(" \\.", " "),
+            new Rewrite("\\s+", " "));
+
+    // Used by the stage "abbreviations" (the other abbreviations are found by "AbbreviationDictionary").
+    final static Rewrite[] STANDARD_SPEED = register(
+            new Rewrite(" km/h", " kmh "));
+    final static Rewrite[] EXTENDED_SPEED = register(
+            new Rewrite(" kilometer/h", " kilometer pro stunde "));
+    final static Rewrite[] STANDARD_STREETS = register(
+            new Rewrite("str\\. ([1-9])", "str|ßß| $1"));
+    final static Rewrite[] EXTENDED_STREETS = register(
+            new Rewrite("str\\. ([1-9])", "straße $1"));
+
+    private PatternRegistry() {
+    }
+
+    static final String apply(final Rewrite[] rewrites, String text) {
+    // Applies all "rewrites" to the "text" one after the other.
+        for (Rewrite rewrite : rewrites) {
+            text = rewrite.apply(text);
+        }
+        return text;
+    }
+
+    static final String apply(final Rewrite[] rewrites, String text, final int features) {
+    /* Applies the "rewrites" to the "text" one after the other, leaving out those that need a
+     * character which isn't part of the "features" of the text (see "BatchFeatures"). */
+        for (Rewrite rewrite : rewrites) {
+            if ((rewrite.features & ~features) == 0) {
+                text = rewrite.apply(text);
+            }
+        }
+        return text;
+    }
+
+    static final void warmUp() {
+    /* Makes sure that all patterns are compiled and lets every rewrite work on a short sample text
+     * a few times, so the first file to tokenize won't be slower than the rest. */
+        final String sample = " Am 3.10.2019 um 12:30 Uhr - z.B. 3x pro Tag (ca. 20°C) & 5-mal mehr; E-Mail: a.b. &nbsp; ä-ö <b>Text</b> ";
+        for (int i=0; i<3; i++) {
+            for (Rewrite[] rewrites : ALL) {
+                apply(rewrites, sample.toLowerCase());
+            }
+            AbbreviationDictionary.getDefault().apply(sample.toLowerCase(), i%2 == 0);
+        }
+    }
+
+    private static final Rewrite[] register(final Rewrite... rewrites) {
+        ALL.add(rewrites);
+        return rewrites;
+    }
+
+    private static final Rewrite[] register(final List<Rewrite> rewrites) {
+        return register(rewrites.toArray(new Rewrite[rewrites.size()]));
+    }
+
+    private static final List<Rewrite> extendedDigits() {
+        final List<Rewrite> rewrites = new ArrayList<>();
+        for (int i=0; i<10; i++) {
+            for (int j=0; j<10; j++) {
+                final int digits = BatchFeatures.digit(i) | BatchFeatures.digit(j);
+                rewrites.add(new Rewrite(Integer.toString(i)+" "+Integer.toString(j), Integer.toString(i)+"|ßß|"+Integer.toString(j), digits));
+                rewrites.add(new Rewrite(Integer.toString(i)+":"+Integer.toString(j), Integer.toString(i)+" XßßX "+Integer.toString(j), digits | BatchFeatures.COLON));
+                rewrites.add(new Rewrite(Integer.toString(i)+"-"+Integer.toString(j), Integer.toString(i)+" YßßY "+Integer.toString(j), digits | BatchFeatures.HYPHEN));
+            }
+            final int digit = BatchFeatures.digit(i);
+            rewrites.add(new Rewrite(Integer.toString(i)+"\\. jh(d(t)?)?\\.", Integer.toString(i)+". jahrhundert ", digit));
+            rewrites.add(new Rewrite("\\."+Integer.toString(i), "|ßß|"+Integer.toString(i), digit));
+            rewrites.add(new Rewrite(Integer.toString(i)+"\\.", Integer.toString(i)+"|ßß|", digit));
+            rewrites.add(new Rewrite(","+Integer.toString(i), "|ßß|"+Integer.toString(i), digit));
+            rewrites.add(new Rewrite(Integer.toString(i)+"( )?km", Integer.toString(i)+" kilometer", digit));
+            rewrites.add(new Rewrite(Integer.toString(i)+"( )?kg", Integer.toString(i)+" kilogramm", digit));
+            rewrites.add(new Rewrite(" -"+Integer.toString(i), " minus "+Integer.toString(i), digit | BatchFeatures.HYPHEN));
+        }
+        return rewrites;
+    }
+
+    private static final List<Rewrite> standardDigits() {
+        final List<Rewrite> rewrites = new ArrayList<>();
+        for (int i=0; i<10; i++) {
+            final int digit = BatchFeatures.digit(i);
+            rewrites.add(new Rewrite(Integer.toString(i)+"km", Integer.toString(i)+" km", digit));
+            rewrites.add(new Rewrite(Integer.toString(i)+"kg", Integer.toString(i)+" kg", digit));
+            rewrites.add(new Rewrite(" -"+Integer.toString(i), " YßßY"+Integer.toString(i), digit | BatchFeatures.HYPHEN));
+            rewrites.add(new Rewrite(Integer.toString(i)+"\\.", Integer.toString(i)+"|ßß|", digit));
+        }
+        return rewrites;
+    }
+
+    private static final List<Rewrite> umlautDots() {
+        final List<Rewrite> rewrites = new ArrayList<>();
+        for (String umlaut : UMLAUTE) {
+            rewrites.add(new Rewrite(" "+umlaut+"\\.", " "+umlaut+"|ßß|"));
+            rewrites.add(new Rewrite("\\.( )?"+umlaut+"\\.", "|ßß|"+umlaut+"|ßß|"));
+        }
+        return rewrites;
+    }
+
+    private static final List<Rewrite> extendedSymbols() {
+        final String[] variousCharsToReplace = {"\\$", "\\+", "§", "€", "£", "¥", "%", "&", "×", "÷", "²", "†"};
+        final String[] replacements = {" dollar ", " plus ", " paragraph ", " euro ", " pfund ", " yen ", " prozent ", " und ", " mal ", " geteilt durch ", " hoch zwei ", " gestorben "};
+        final List<Rewrite> rewrites = new ArrayList<>();
+        for (int i=0; i<variousCharsToReplace.length; i++) {
+            rewrites.add(new Rewrite(variousCharsToReplace[i], replacements[i]));
+        }
+        rewrites.addAll(Arrays.asList(
+                new Rewrite("( )?°c ", " grad celsius ", BatchFeatures.DEGREE),
+                new Rewrite("( )?°f ", " grad fahrenheit ", BatchFeatures.DEGREE),
+                new Rewrite("°", " grad ", BatchFeatures.DEGREE),
+                new Rewrite("\\|", " "),
+                new Rewrite("=(=)?", " ist "),
+                new Rewrite("\\s+", " ")));
+        return rewrites;
+    }
+
+    private static final List<Rewrite> standardSymbols() {
+        final String[] variousCharsToReplace = {"§", "€", "£", "¥", "%", "&", "×", "÷", "²", "†"};
+        final List<Rewrite> rewrites = new ArrayList<>();
+        for (String variousCharToReplace : variousCharsToReplace) {
+            rewrites.add(new Rewrite(variousCharToReplace, " "+variousCharToReplace+" "));
+        }
+        rewrites.addAll(Arrays.asList(
+                new Rewrite("\\$", " \\$ "),
+                new Rewrite("\\+", " + "),
+                new Rewrite("=(=)?", " = "),
+                new Rewrite("°c ", " °c ", BatchFeatures.DEGREE),
+                new Rewrite("°f ", " °f ", BatchFeatures.DEGREE)));
+        return rewrites;
+    }
+
+    static final class Rewrite {
+    /* A precompiled regular expression and its replacement; "features" are the characters the
+     * expression can't match without (see "BatchFeatures"). */
+
+        private final Pattern pattern;
+        private final String replacement;
+        private final int features;
+
+        private Rewrite(final String regex, final String replacement) {
+            this(regex, replacement, 0);
+        }
+
+        private Rewrite(final String regex, final String replacement, final int features) {
+            this.pattern = Pattern.compile(regex);
+            this.replacement = replacement;
+            this.features = features;
+        }
+
+        final String apply(final String text) {
+            return pattern.matcher(text).replaceAll(replacement);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+// TextTokenizer.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* The whitespace tokenization of German texts in memory (note that all tokens will be set to lower
+ * case letters). It neither reads nor writes any file and doesn't change after it has been created,
+ * so a single instance can be used by several threads at the same time. */
+final class TextTokenizer {
+    
+    private final static String[] YEAR_MARKERS = {"jahr ", "jahre ", "jahren ", "jahres ", "jahrs ", "frühjahr ", "frühling ", "sommer ", "herbst ", "winter ", "ostern ", "pfingsten ", "weihnachten ", "semester ", "geboren ", "gestorben "};
+    private final static String[] MONTHS = {"januar", "februar", "märz", "april", "mai", "juni", "juli", "august", "september", "oktober", "november", "dezember"};
+    private final static String ACCEPTABLE_FIRST_CHARACTERS = "dseiwamhgubnkfzvlrtpojüäcöyqx1234567890";
+    private final TokenizerPipeline pipeline;
+    private final AbbreviationDictionary abbreviations = AbbreviationDictionary.getDefault(); // looked up once, not for every text
+    private final TokenizerMetrics metrics; // "null" if nothing is measured
+    private final VerbalizationCache cache; // "null" if the words of numbers and years aren't cached
+    
+    TextTokenizer(final boolean extendedTokenization) {
+        this(TokenizerPipeline.of(extendedTokenization), null, null);
+    }
+    
+    TextTokenizer(final TokenizerPipeline pipeline, final TokenizerMetrics metrics, final VerbalizationCache cache) {
+        this.pipeline = pipeline;
+        this.metrics = metrics;
+        this.cache = cache;
+    }
+    
+    final String tokenizeText(final CharSequence text) {
+    /* Tokenizes a text as a single batch (its line breaks become spaces) and returns its tokens
+     * separated by spaces. */
+        return finish(tokenize(" "+text+" "), false);
+    }
+    
+    final List<String> tokens(final CharSequence text) {
+    // Tokenizes a text as a single batch and returns a new list of its tokens.
+        final String tokens = tokenizeText(text);
+        final List<String> list = new ArrayList<>();
+        int start = 0;
+        for (int i=0; i<=tokens.length(); i++) {
+            if (i == tokens.length() || tokens.charAt(i) == ' ') {
+                if (i > start) {
+                    list.add(tokens.substring(start, i));
+                }
+                start = i+1;
+            }
+        }
+        return list;
+    }
+    
+    static final String finish(String lines, final boolean moreLines) {
+    /* Trims a tokenized batch, adds a space if more lines follow and deletes unwanted characters at
+     * its beginning. */
+        lines = lines.trim();
+        if (!lines.isEmpty()) {
+            if (moreLines) {
+                lines += " ";
+            }
+            while (!lines.isEmpty() && !checkIfLinesStartWithLetterOrNumber(lines)) { // makes sure that unwanted characters at the beginning of "lines" get deleted
+                lines = lines.substring(1);
+            }
+        }
+        return lines;
+    }
+    
+    final String tokenize(final String lines) {
+	/* Tokenizes the input text (whitespace tokenization) by letting the stages of the pipeline work
+	 * on it one after the other (see "TokenizerPipeline"). In the extended tokenization some
+	 * special work like the replacement of numbers with their corresponding German numerals
+	 * (words) will be done. 
+	 * Be aware that the work that will be done by the extended tokenization could take some
+	 * time. */
+        final String lowerCaseLines = lines.toLowerCase();
+        /* The stages and rules that need digits, ':', '-' or '°' are skipped if the batch doesn't
+         * contain them (none of the stages adds such a character, except for the abbreviations of a
+         * domain file that contain them). */
+        final TokenizerBatch batch = new TokenizerBatch(lowerCaseLines, BatchFeatures.scan(lowerCaseLines) | abbreviations.getFeatures(), cache);
+        final String tokens = pipeline.apply(batch, metrics);
+        if (metrics != null) {
+            metrics.addBatch(lines.length(), tokens);
+        }
+        return tokens;
+    }
+
+    final TokenizerMetrics getMetrics() {
+        return metrics;
+    }
+
+    final VerbalizationCache getVerbalizationCache() {
+        return cache;
+    }
+
+    final TokenizerPipeline getPipeline() {
+        return pipeline;
+    }
+	
+	static final String workOnHyphensAndDashes(final String lines) {
+	/* Saves important hyphens or dashes by temporarily replacing them with "YßßY"; also some
+	 * important dots will be saved in a similar way by replacing them with "|ßß|". */
+        return HyphenClassifier.apply(lines);
+	}
+	
+    static final String clarifyDates(final String lines) {
+    /* Helps replacing numeric representations of dates with their corresponding words and phrases.
+     * If there are two dots in a token it can be assumed that the token represents a date, so the
+     * program checks if the part between both dots is a number between 1 and 12; if so, this
+     * number will be replaced with the name of the month corresponding to this number (e.g. "2" or
+     * "02" will be replaced with "februar" (German for "February")). Tokens with more than 3 dots
+     * or more than 50 characters (and not exactly 2 dots) get deleted. */
+        final TokenSpans tokens = new TokenSpans(lines);
+        final char[] chars = tokens.getChars();
+        final StringBuilder sb = new StringBuilder(lines.length()+16).append(' ');
+        for (int i=0; i<tokens.size(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            final int numberOfDots = tokens.getNumberOfDots(i);
+            if (numberOfDots == 2) {
+                final int firstDot = indexOfDot(chars, tokens.getStart(i));
+                final int secondDot = indexOfDot(chars, firstDot+1);
+                final String month = tokens.has(i, TokenSpans.DIGIT)? findMonth(chars, firstDot+1, secondDot) : null;
+                if (month == null) {
+                    tokens.append(sb, i);
+                } else {
+                    sb.append(chars, tokens.getStart(i), firstDot-tokens.getStart(i)).append(". ").append(month).append(' ').append(chars, secondDot+1, tokens.getEnd(i)-secondDot-1);
+                }
+            } else if (numberOfDots <= 3 && tokens.getLength(i) <= 50) { // deletes tokens with more than 3 dots or more than 50 characters
+                tokens.append(sb, i);
+            }
+        }
+        return sb.append(' ').toString();
+    }
+
+    private static final int indexOfDot(final char[] chars, int position) {
+        while (chars[position] != '.') {
+            position++;
+        }
+        return position;
+    }
+
+    private static final String findMonth(final char[] chars, final int start, final int end) {
+    // Returns the month written as "1" to "12" (or "01" to "09") between "start" and "end" (or "null").
+        if (end-start == 1 && chars[start] >= '1' && chars[start] <= '9') {
+            return MONTHS[chars[start]-'1'];
+        } else if (end-start == 2 && chars[start] == '0' && chars[start+1] >= '1' && chars[start+1] <= '9') {
+            return MONTHS[chars[start+1]-'1'];
+        } else if (end-start == 2 && chars[start] == '1' && chars[start+1] >= '0' && chars[start+1] <= '2') {
+            return MONTHS[chars[start+1]-'0'+9];
+        }
+        return null;
+    }
+
+    static final String restoreMarkers(final String lines) {
+    /* Puts back the hyphens and colons that have been protected with "YßßY" and " XßßX ", deletes
+     * dots at the beginning of tokens and leaves only a single space between the tokens. Only the
+     * tokens with such markers or dots are changed, all others are copied as they are. */
+        final TokenSpans tokens = new TokenSpans(lines);
+        if (tokens.anyHas(TokenSpans.OTHER_WHITESPACE)) {
+            return PatternRegistry.apply(PatternRegistry.MARKERS, lines);
+        }
+        final char[] chars = tokens.getChars();
+        final StringBuilder sb = new StringBuilder(lines.length());
+        boolean space = false; // "true" if "sb" ends with a space
+        boolean colon = false; // "true" if the last token was a restored colon (which took the space behind it)
+        for (int i=0; i<tokens.size(); i++) {
+            if (i > 0 && !space) {
+                sb.append(' ');
+                space = true;
+            }
+            int start = tokens.getStart(i);
+            final int end = tokens.getEnd(i);
+            if (tokens.has(i, TokenSpans.COLON) && i > 0 && !colon && (i+1 < tokens.size() || tokens.hasTrailingSpace())) {
+                sb.append(':');
+                space = false;
+                colon = true;
+                continue;
+            }
+            colon = false;
+            if (i > 0 && start < end && chars[start] == '.') {
+                start++; // deletes a dot at the beginning of a token
+            }
+            if (start == end) {
+                continue;
+            }
+            if (tokens.has(i, TokenSpans.KEPT_HYPHEN)) {
+                for (int j=start; j<end; j++) {
+                    if (chars[j] == 'Y' && j+3 < end && chars[j+1] == 'ß' && chars[j+2] == 'ß' && chars[j+3] == 'Y') {
+                        sb.append('-');
+                        j += 3;
+                    } else {
+                        sb.append(chars[j]);
+                    }
+                }
+            } else {
+                sb.append(chars, start, end-start);
+            }
+            space = false;
+        }
+        if (tokens.hasTrailingSpace() && !space) {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    static final String detectYears(final String lines, final VerbalizationCache cache) {
+    /* Detects numbers that represent a certain year by checking "lines" for "YEAR_MARKERS" and
+     * names of months in front of the number. If such a number is found, it will be replaced with
+     * the corresponding words for the year (e.g. "1975" will be replaced with
+     * "neunzehnhundertfünfundsiebzig" (German for "nineteen seventy-five")); a '.' behind the year
+     * (at the end of a sentence) will be deleted.
+     * Note that the numbers between 0 and 100 that have been replaced by the method
+     * "replaceNumbers()" are already replaced with correct German expressions for years as well.
+     * If there is a "cache", the words of years that have already been found are taken from it. */
+        final int length = lines.length();
+        StringBuilder sb = null;
+        int copied = 0;
+        for (int i=1; i<length; i++) {
+            if (lines.charAt(i-1) != ' ' || lines.charAt(i) < '1' || lines.charAt(i) > '9' || !followsYearMarker(lines, i)) {
+                continue;
+            }
+            int end = i;
+            while (end < length && lines.charAt(end) >= '0' && lines.charAt(end) <= '9') {
+                end++;
+            }
+            final boolean dot = lines.startsWith(". ", end);
+            if ((end-i != 3 && end-i != 4) || !(dot || lines.startsWith(" ", end))) {
+                continue;
+            }
+            final VerbalizationCache.Verbalization year = verbalizeYear(lines.substring(i, end), cache);
+            if (year == VerbalizationCache.UNCHANGED) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length+64);
+            }
+            sb.append(lines, copied, i).append(year.words);
+            copied = dot? end+1 : end;
+            i = end;
+        }
+        return (sb == null)? lines : sb.append(lines, copied, length).toString();
+    }
+    
+    private static final VerbalizationCache.Verbalization verbalizeYear(final String digits, final VerbalizationCache cache) {
+    /* Returns the words for the year written with the "digits" (or the "digits" themselves if they
+     * don't have to be replaced) or "UNCHANGED" if the number is no year (above 2099). */
+        final String key = (cache != null)? "y"+digits : null;
+        VerbalizationCache.Verbalization year = (cache != null)? cache.get(key) : null;
+        if (year == null) {
+            final int number = Integer.parseInt(digits);
+            final String words = (number > 2099)? null : NumeralConverter.year(number);
+            year = (number > 2099)? VerbalizationCache.UNCHANGED : new VerbalizationCache.Verbalization((words != null)? words : digits, digits.length());
+            if (cache != null) {
+                cache.put(key, year);
+            }
+        }
+        return year;
+    }
+    
+    private static final boolean followsYearMarker(final String lines, final int index) {
+    // Returns "true" if a year marker or the name of a month ends directly in front of "index".
+        for (String yearMarker : YEAR_MARKERS) {
+            if (lines.startsWith(yearMarker, index-yearMarker.length())) {
+                return true;
+            }
+        }
+        for (String[] month : NumeralConverter.MONTHS) {
+            if (lines.startsWith(month[0], index-month[0].length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final boolean checkIfLinesStartWithLetterOrNumber(final String lines) {
+    // Returns "true" if the "lines" start with a letter or a number and "false" otherwise.
+        return !lines.isEmpty() && isAcceptableFirstCharacter(lines.charAt(0));
+    }
+    
+    static final int findFirstToken(final String lines) {
+    /* Returns the position of the first character in the tokenized "lines" that "finish()" would
+     * keep at their beginning (or the length of the "lines" if there isn't any). */
+        for (int i=0; i<lines.length(); i++) {
+            if (isAcceptableFirstCharacter(lines.charAt(i))) {
+                return i;
+            }
+        }
+        return lines.length();
+    }
+    
+    private static final boolean isAcceptableFirstCharacter(final char c) {
+    /* The characters in "ACCEPTABLE_FIRST_CHARACTERS" are sorted in order of their frequency
+     * (starting with the most frequent letter to appear in initial position in German words - this
+     * should decrease the average running time of this method). */
+        return ACCEPTABLE_FIRST_CHARACTERS.indexOf(c) >= 0;
+    }
+}
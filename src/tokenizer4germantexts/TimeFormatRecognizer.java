@@ -0,0 +1,175 @@
+// TimeFormatRecognizer.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+/* A tool to detect several time formats (like "9.30 uhr", "09 XßßX 30 cet" or "9.30 YßßY 12 uhr")
+ * and to prepare them for "NumeralConverter" (e.g. "9 uhr 30" or "9 uhr 30 bis 12 uhr"). */
+final class TimeFormatRecognizer {
+
+    private final static String COLON = " XßßX ";
+    private final static String RANGE = " YßßY ";
+    private final static String[] CLOCK_STRINGS = {"uhr ", "h ", "cet ", "cest ", "mez ", "mesz "};
+    private final static int[] CLOCK_GROUPS = {0, 1, 2, 2, 3, 3}; // "cet" and "cest" (and "mez" and "mesz") were found by the same pattern
+
+    private TimeFormatRecognizer() {
+    }
+
+    static final String replaceTimeFormats(final String lines) {
+    // Detects several time formats and prepares them for the method "replaceNumbers()".
+        if (!containsTime(lines)) {
+            return lines;
+        }
+        return replaceRanges(replaceTimes(lines));
+    }
+
+    private static final String replaceTimes(final String lines) {
+    /* Replaces times like " 9.30 uhr ", ".09 XßßX 30h " or " 21.00 mesz " with " 9 uhr 30 " (the
+     * hour has to be between 0 and 23 and the minutes between 00 and 59).
+     * Two equally written times directly behind each other (like in "9.30 uhr 9.30 uhr") share the
+     * space between them, in this case only the first one will be replaced. */
+        final int length = lines.length();
+        StringBuilder sb = null;
+        int copied = 0;
+        int lastEnd = -1;
+        long lastKey = -1;
+        for (int i=0; i+1<length; i++) {
+            final char c = lines.charAt(i);
+            if ((c != ' ' && c != '.') || !isDigit(lines.charAt(i+1))) {
+                continue;
+            }
+            // the hour: "H", "HH" or "0H"
+            int position = i+1;
+            while (position < length && isDigit(lines.charAt(position))) {
+                position++;
+            }
+            if (position-i-1 > 2) {
+                continue;
+            }
+            final boolean leadingZero = position-i-1 == 2 && lines.charAt(i+1) == '0';
+            final int hour = leadingZero? lines.charAt(i+2)-'0' : Integer.parseInt(lines.substring(i+1, position));
+            if (hour > 23) {
+                continue;
+            }
+            // the separator: '.' or " XßßX "
+            final boolean colon;
+            if (lines.startsWith(".", position)) {
+                colon = false;
+                position++;
+            } else if (lines.startsWith(COLON, position)) {
+                colon = true;
+                position += COLON.length();
+            } else {
+                continue;
+            }
+            // the minutes: "MM"
+            if (position+1 >= length || lines.charAt(position) < '0' || lines.charAt(position) > '5' || !isDigit(lines.charAt(position+1))) {
+                continue;
+            }
+            final int minutes = position;
+            position += 2;
+            // the clock string (which may be separated by a space)
+            if (position < length && lines.charAt(position) == ' ') {
+                position++;
+            }
+            int clock = -1;
+            for (int j=0; j<CLOCK_STRINGS.length; j++) {
+                if (lines.startsWith(CLOCK_STRINGS[j], position)) {
+                    clock = j;
+                    break;
+                }
+            }
+            if (clock < 0) {
+                continue;
+            }
+            final int end = position+CLOCK_STRINGS[clock].length();
+            final long key = ((((leadingZero? 1 : 0)*2+(colon? 1 : 0))*24+hour)*60+Integer.parseInt(lines.substring(minutes, minutes+2)))*4+CLOCK_GROUPS[clock];
+            if (lastEnd == i+1 && lastKey == key) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length+16);
+            }
+            if (i >= copied) {
+                sb.append(lines, copied, i).append(' ');
+            } // else: the space in front of this time has already been written as the end of the last time
+            sb.append(hour).append(" uhr ").append(lines, minutes, minutes+2).append(' ');
+            copied = end;
+            lastEnd = end;
+            lastKey = key;
+            i = end-2; // the space at the end can be the start of the next time
+        }
+        return (sb == null)? lines : sb.append(lines, copied, length).toString();
+    }
+
+    private static final String replaceRanges(final String lines) {
+    /* Replaces ranges like "9.30 YßßY 12 uhr " or "9 XßßX 30 YßßY 12 uhr " with "9 uhr 30 bis 12 uhr "
+     * (only the last digit of the first hour is looked at, so "12.30 YßßY 14 uhr " works as well). */
+        final int length = lines.length();
+        StringBuilder sb = null;
+        int copied = 0;
+        for (int i=0; i<length; i++) {
+            if (!isDigit(lines.charAt(i))) {
+                continue;
+            }
+            int position = i+1;
+            if (lines.startsWith(".", position)) {
+                position++;
+            } else if (lines.startsWith(COLON, position)) {
+                position += COLON.length();
+            } else {
+                continue;
+            }
+            if (position+1 >= length || lines.charAt(position) < '0' || lines.charAt(position) > '5' || !isDigit(lines.charAt(position+1))) {
+                continue;
+            }
+            final int minutes = position;
+            position += 2;
+            if (!lines.startsWith(RANGE, position)) {
+                continue;
+            }
+            position += RANGE.length();
+            final int hour = position;
+            while (position < length && isDigit(lines.charAt(position))) {
+                position++;
+            }
+            if (position == hour || position-hour > 2 || (position-hour == 2 && (lines.charAt(hour) == '0' || Integer.parseInt(lines.substring(hour, position)) > 23)) || !lines.startsWith(" uhr ", position)) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length+16);
+            }
+            sb.append(lines, copied, i+1).append(" uhr ").append(lines, minutes, minutes+2).append(" bis ").append(lines, hour, position).append(" uhr ");
+            copied = position+5;
+            i = copied-1;
+        }
+        return (sb == null)? lines : sb.append(lines, copied, length).toString();
+    }
+
+    private static final boolean containsTime(final String lines) {
+    // Returns "true" if there is a digit in front of a '.' or a colon (" XßßX ") in "lines".
+        for (int i=1; i<lines.length(); i++) {
+            if (isDigit(lines.charAt(i-1)) && (lines.charAt(i) == '.' || lines.startsWith(COLON, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
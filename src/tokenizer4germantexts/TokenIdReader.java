@@ -0,0 +1,113 @@
+// TokenIdReader.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/* A reader for token files in the binary format (see "TokenIdWriter"): the file is mapped into
+ * memory window by window and the ids are decoded directly from the mapped windows, so even very
+ * large token files can be streamed (e.g. by a training job) without parsing any text. */
+public final class TokenIdReader implements PrimitiveIterator.OfInt, Closeable {
+
+    private final static long WINDOW_SIZE = 256L*1024*1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    public TokenIdReader(final File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        size = channel.size();
+        map(0);
+    }
+
+    private final void map(final long start) throws IOException {
+    // Maps the window starting at "start" (at most "WINDOW_SIZE" bytes).
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size-start));
+    }
+
+    @Override
+    public final boolean hasNext() {
+        return window.hasRemaining() || windowStart+window.limit() < size;
+    }
+
+    @Override
+    public final int nextInt() {
+    // Returns the next id (an "UncheckedIOException" is thrown if the next window can't be mapped).
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (window.remaining() < 5 && windowStart+window.limit() < size) { // an id might be split up by the end of the window
+            try {
+                map(windowStart+window.position());
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+        int id = 0;
+        for (int shift=0; ; shift+=7) {
+            final byte b = window.get();
+            id |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return id;
+            }
+        }
+    }
+
+    public final int read(final int[] ids) {
+    // Reads up to "ids.length" ids into "ids" and returns how many were read (0 at the end of the file).
+        int numberOfIds = 0;
+        while (numberOfIds < ids.length && hasNext()) {
+            ids[numberOfIds++] = nextInt();
+        }
+        return numberOfIds;
+    }
+
+    public static final String[] readVocabulary(final File vocabularyFile) throws IOException {
+    /* Reads the tokens of the ids from the file written by "TokenizerEngine.writeVocabulary()" (the
+     * token with the id n is found in line n+1), so "readVocabulary(...)[id]" is the token of an id. */
+        final List<String> tokens = new ArrayList<>();
+        try (final BufferedReader br = Files.newBufferedReader(vocabularyFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                final int space = line.lastIndexOf(' ');
+                tokens.add((space >= 0)? line.substring(0, space) : line);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    @Override
+    public final void close() throws IOException {
+        channel.close();
+    }
+}
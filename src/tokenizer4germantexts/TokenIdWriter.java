@@ -0,0 +1,120 @@
+// TokenIdWriter.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/* A "Writer" for token files in a binary format: instead of the tokens it writes their ids (taken
+ * from a shared "Vocabulary", so all token files written by the same engine use the same ids) as
+ * varints - 7 bits per byte, starting with the lowest bits, the highest bit of every byte but the
+ * last one of an id is set. Frequent tokens get small ids early on, so most ids need only one or
+ * two bytes. The ids can be read with "TokenIdReader"; the tokens belonging to them are saved by
+ * "TokenizerEngine.writeVocabulary()".
+ * A token is only written when the space behind it (or the end of the file) has been written. */
+final class TokenIdWriter extends Writer {
+
+    private final WritableByteChannel channel;
+    private final Vocabulary vocabulary;
+    private final ByteBuffer buffer;
+    private final StringBuilder pending = new StringBuilder(); // the beginning of a token that hasn't been finished yet
+
+    TokenIdWriter(final WritableByteChannel channel, final Vocabulary vocabulary, final int bufferSize) {
+        this.channel = channel;
+        this.vocabulary = vocabulary;
+        buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 16));
+    }
+
+    @Override
+    public final void write(final char[] cbuf, final int off, final int len) throws IOException {
+        write(new String(cbuf, off, len));
+    }
+
+    @Override
+    public final void write(final String str) throws IOException {
+        if (pending.length() > 0) {
+            pending.append(str);
+            final String text = pending.toString();
+            pending.setLength(0);
+            encode(text);
+        } else {
+            encode(str);
+        }
+    }
+
+    @Override
+    public final void write(final String str, final int off, final int len) throws IOException {
+        write(str.substring(off, off+len));
+    }
+
+    private final void encode(final String text) throws IOException {
+    // Writes the ids of all finished tokens of the "text" and keeps the rest for the next call.
+        final int end = text.lastIndexOf(' ')+1;
+        if (end < text.length()) {
+            pending.append(text, end, text.length());
+        }
+        if (end > 0) {
+            writeIds(vocabulary.toIds((end == text.length())? text : text.substring(0, end)));
+        }
+    }
+
+    private final void writeIds(final int[] ids) throws IOException {
+        for (int id : ids) {
+            if (buffer.remaining() < 5) {
+                drain();
+            }
+            while ((id & ~0x7F) != 0) {
+                buffer.put((byte)((id & 0x7F) | 0x80));
+                id >>>= 7;
+            }
+            buffer.put((byte)id);
+        }
+    }
+
+    private final void drain() throws IOException {
+    // Writes the content of the buffer to the channel.
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public final void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public final void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            if (pending.length() > 0) { // the last token of the file
+                final String text = pending.toString();
+                pending.setLength(0);
+                writeIds(vocabulary.toIds(text));
+            }
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
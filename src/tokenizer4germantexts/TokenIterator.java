@@ -0,0 +1,91 @@
+// TokenIterator.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* An iterator over the tokens of a text read from a "Reader": the text is read and tokenized batch by
+ * batch only when the tokens of the last batch have been used up, so the memory needed doesn't
+ * depend on the size of the text. The tokens are the same as those of a token file of the text
+ * (without any file being written); an "IOException" while reading is thrown as an
+ * "UncheckedIOException". */
+final class TokenIterator implements Iterator<String>, Closeable {
+
+    private final LineReader lineReader;
+    private final TextTokenizer textTokenizer;
+    private final int batchSize;
+    private final StringBuilder lines = new StringBuilder();
+    private String tokens = ""; // the tokenized current batch
+    private int position; // the start of the next token in "tokens"
+    private int end; // the end of the last token in "tokens"
+
+    TokenIterator(final Reader text, final TextTokenizer textTokenizer, final TokenizerOptions options) {
+        lineReader = new LineReader(text, options.getReadBufferSize());
+        this.textTokenizer = textTokenizer;
+        batchSize = options.getBatchSize();
+    }
+
+    @Override
+    public final boolean hasNext() {
+        try {
+            while (!skipSpaces()) {
+                if (!lineReader.appendBatch(lines, batchSize)) {
+                    return false;
+                }
+                tokens = textTokenizer.tokenize(lines.toString());
+                end = tokens.length();
+                while (end > 0 && tokens.charAt(end-1) <= ' ') { // like "trim()" in "TextTokenizer.finish()"
+                    end--;
+                }
+                position = TextTokenizer.findFirstToken(tokens);
+            }
+            return true;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    @Override
+    public final String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final int start = position;
+        while (position < end && tokens.charAt(position) != ' ') {
+            position++;
+        }
+        return tokens.substring(start, position);
+    }
+
+    private final boolean skipSpaces() {
+    // Moves to the start of the next token and returns "false" if there is none left in this batch.
+        while (position < end && tokens.charAt(position) == ' ') {
+            position++;
+        }
+        return position < end;
+    }
+
+    @Override
+    public final void close() throws IOException {
+        lineReader.close();
+    }
+}
@@ -0,0 +1,124 @@
+// TokenSpans.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.Arrays;
+
+/* A batch split up into its tokens without copying them: every token is a range of a single char
+ * array (split at every space like "String.split(" ")" does, so several spaces in a row result in
+ * empty tokens and the spaces at the end don't result in any token) together with flags that are
+ * found during the same scan. The flags tell the stages which tokens contain the markers of the
+ * earlier stages (a protected dot, a kept hyphen "YßßY" or a protected colon "XßßX"), so a stage
+ * only has to look at the tokens it changes and can write all others as they are. */
+final class TokenSpans {
+
+    final static int DIGIT = 1;
+    final static int KEPT_HYPHEN = 2; // contains "YßßY"
+    final static int COLON = 4; // is the "XßßX" of a protected colon
+    final static int OTHER_WHITESPACE = 8; // contains whitespace that isn't a space (like '\t')
+    private final static int DOTS = 4; // the number of dots is saved in the bits above the flags
+
+    private final char[] chars;
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] flags = new int[64];
+    private int size;
+    private int allFlags;
+
+    TokenSpans(final String lines) {
+        chars = lines.toCharArray();
+        int end = chars.length;
+        while (end > 0 && chars[end-1] == ' ') {
+            end--;
+        }
+        int start = 0;
+        int tokenFlags = 0;
+        for (int i=0; i<=end; i++) {
+            final char c = (i < end)? chars[i] : ' ';
+            if (c == ' ') {
+                if (i-start == 4 && chars[start] == 'X' && chars[start+1] == 'ß' && chars[start+2] == 'ß' && chars[start+3] == 'X') {
+                    tokenFlags |= COLON;
+                }
+                add(start, i, tokenFlags);
+                start = i+1;
+                tokenFlags = 0;
+            } else if (c == '.') {
+                tokenFlags += 1 << DOTS;
+            } else if (c >= '0' && c <= '9') {
+                tokenFlags |= DIGIT;
+            } else if (c == 'Y' && i+3 < end && chars[i+1] == 'ß' && chars[i+2] == 'ß' && chars[i+3] == 'Y') {
+                tokenFlags |= KEPT_HYPHEN;
+            } else if (Character.isWhitespace(c)) {
+                tokenFlags |= OTHER_WHITESPACE;
+            }
+        }
+    }
+
+    private final void add(final int start, final int end, final int tokenFlags) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size*2);
+            ends = Arrays.copyOf(ends, size*2);
+            flags = Arrays.copyOf(flags, size*2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        flags[size++] = tokenFlags;
+        allFlags |= tokenFlags;
+    }
+
+    final int size() {
+        return size;
+    }
+
+    final char[] getChars() {
+        return chars;
+    }
+
+    final int getStart(final int token) {
+        return starts[token];
+    }
+
+    final int getEnd(final int token) {
+        return ends[token];
+    }
+
+    final int getLength(final int token) {
+        return ends[token]-starts[token];
+    }
+
+    final boolean has(final int token, final int flag) {
+        return (flags[token] & flag) != 0;
+    }
+
+    final boolean anyHas(final int flag) {
+    // Returns "true" if at least one of the tokens has the "flag".
+        return (allFlags & flag) != 0;
+    }
+
+    final int getNumberOfDots(final int token) {
+        return flags[token] >>> DOTS;
+    }
+
+    final boolean hasTrailingSpace() {
+    // Returns "true" if the lines end with a space (which doesn't belong to any token).
+        return chars.length > 0 && chars[chars.length-1] == ' ';
+    }
+
+    final StringBuilder append(final StringBuilder sb, final int token) {
+        return sb.append(chars, starts[token], ends[token]-starts[token]);
+    }
+}
@@ -0,0 +1,74 @@
+// TokenizerBatch.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+/* The batch of lines that is passed from stage to stage by a "TokenizerPipeline". The lines are in
+ * lower case and surrounded by spaces; the characters the stages depend on (the digits, ':', '-' and
+ * '°') are looked up once when the batch is created, so a stage doesn't have to scan the lines
+ * again to find out whether it has anything to do. The built-in stages only add characters that
+ * were found then; if a stage of your own changes the lines ("setLines()"), they are scanned again
+ * as soon as a later stage asks for these characters. */
+public final class TokenizerBatch {
+
+    private String lines;
+    private int features;
+    private boolean changed; // "true" if "setLines()" has been used since the lines were scanned
+    private final VerbalizationCache cache; // "null" if the words of numbers and years aren't cached
+
+    TokenizerBatch(final String lines) {
+        this(lines, BatchFeatures.scan(lines), null);
+    }
+
+    TokenizerBatch(final String lines, final int features, final VerbalizationCache cache) {
+        this.lines = lines;
+        this.features = features;
+        this.cache = cache;
+    }
+
+    public final String getLines() {
+        return lines;
+    }
+
+    public final void setLines(final String lines) {
+        this.lines = lines;
+        changed = true;
+    }
+
+    final void replaceLines(final String lines) {
+    // Used by the built-in stages, which never add a character the features don't contain yet.
+        this.lines = lines;
+    }
+
+    public final boolean hasDigits() {
+    // Returns "false" if the batch doesn't contain any digit.
+        return BatchFeatures.hasDigits(getFeatures());
+    }
+
+    final int getFeatures() {
+    /* The features found before are kept (e.g. those of the abbreviations, which are added before
+     * the abbreviations are clarified): a feature too many only means that a rule isn't skipped. */
+        if (changed) {
+            features |= BatchFeatures.scan(lines);
+            changed = false;
+        }
+        return features;
+    }
+
+    final VerbalizationCache getVerbalizationCache() {
+        return cache;
+    }
+}
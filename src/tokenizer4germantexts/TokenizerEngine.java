@@ -0,0 +1,196 @@
+// TokenizerEngine.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/* A tokenizer that is set up once and can be used as often as wanted - even by several threads at the
+ * same time, because it doesn't change after it has been created. Texts can be tokenized in memory
+ * (e.g. many short documents of a service) or read from files, websites or other "Reader"s, in which
+ * case the tokens are written into token files in the output directory of the "options".
+ * All patterns and the abbreviation dictionary are prepared when the engine is created, so the
+ * first text won't be slower than the rest. An engine that measures the tokenization registers its
+ * metrics via JMX and should be closed when it isn't used anymore (e.g. in a try-with-resources
+ * statement), otherwise the metrics - and with them the engine - are kept by the MBean server. */
+public final class TokenizerEngine implements AutoCloseable {
+
+    private final boolean extendedTokenization;
+    private final TokenizerOptions options;
+    private final TextTokenizer textTokenizer; // tokenizes the texts in memory
+    private final Vocabulary vocabulary; // the counts of all tokens written into token files (or "null")
+    private final TokenizerMetrics metrics; // "null" if the tokenization isn't measured
+
+    public TokenizerEngine(final boolean extendedTokenization) {
+        this(extendedTokenization, TokenizerOptions.DEFAULT);
+    }
+
+    public TokenizerEngine(final boolean extendedTokenization, final TokenizerOptions options) {
+        this.extendedTokenization = extendedTokenization;
+        this.options = options;
+        final TokenizerPipeline pipeline = options.getPipeline(extendedTokenization);
+        metrics = options.isMeasured()? new TokenizerMetrics(pipeline.getStageNames()) : null;
+        if (metrics != null) {
+            metrics.register();
+        }
+        textTokenizer = new TextTokenizer(pipeline, metrics, options.createVerbalizationCache());
+        vocabulary = (options.isVocabularyCounted() || options.isBinaryOutput())? new Vocabulary() : null;
+        PatternRegistry.warmUp();
+    }
+
+    public final String tokenize(final CharSequence text) {
+    /* Returns the tokens of the "text" separated by spaces (exactly as they would be written into a
+     * token file if the "text" was the content of a file with a single line). */
+        return textTokenizer.tokenizeText(text);
+    }
+
+    public final List<String> tokenizeToList(final CharSequence text) {
+    /* Returns the tokens of the "text" as a new list; like "tokenize()" this method neither reads
+     * nor writes any file, so it can be used by many threads at the same time. */
+        return textTokenizer.tokens(text);
+    }
+
+    public final File tokenizeFile(final String path, final String target, final String charset) {
+    /* Tokenizes the file with the "path" ("charset": "UTF-8" or "default") and returns its token
+     * file (or "null" if the tokenization has failed). "target" names the subdirectory of the output
+     * directory the token file is written to (like "/file1.txt"; "" for the output directory
+     * itself). */
+        final Tokenizer fileTokenizer = new Tokenizer(null, path, target, charset, textTokenizer, options, vocabulary);
+        return fileTokenizer.isSuccessful()? fileTokenizer.getTokenFile() : null;
+    }
+
+    public final File tokenize(final Reader text, final String target, final String charset) {
+    /* Tokenizes the "text" read from a "Reader" (which gets closed afterwards) and returns its token
+     * file (or "null" if the tokenization has failed); "charset" is the charset of the token file. */
+        final Tokenizer readerTokenizer = new Tokenizer(text, null, target, charset, textTokenizer, options, vocabulary);
+        return readerTokenizer.isSuccessful()? readerTokenizer.getTokenFile() : null;
+    }
+
+    public final File writeVocabulary() {
+    /* Writes the vocabulary of all token files written by this engine so far into the file
+     * "vocab.txt" in the output directory (see "TokenizerOptions.withVocabulary()"): one token and
+     * its count per line, the most frequent tokens first. If the token files are binary, the tokens
+     * of all ids are written into "ids.vocab" as well (in the order of their ids, see
+     * "TokenIdReader.readVocabulary()"). Returns "vocab.txt" (or "ids.vocab" if the vocabulary isn't
+     * counted; "null" if nothing could be written). */
+        if (vocabulary == null) {
+            return null;
+        }
+        new File(options.getOutputDirectory()).mkdirs();
+        File writtenFile = null;
+        try {
+            if (options.isBinaryOutput()) {
+                writtenFile = new File(options.getOutputDirectory()+"/ids.vocab");
+                vocabulary.writeIds(writtenFile);
+                System.out.println("Vocabulary of the ids saved: "+Integer.toString(vocabulary.size())+" different tokens (output file: \""+writtenFile+"\")");
+            }
+            if (options.isVocabularyCounted()) {
+                writtenFile = new File(options.getOutputDirectory()+"/vocab.txt");
+                final int numberOfTokens = vocabulary.write(writtenFile, options.getMinCount(), options.getTopK());
+                System.out.println("Vocabulary saved: "+Integer.toString(numberOfTokens)+" of "+Integer.toString(vocabulary.size())+" different tokens ("+Long.toString(vocabulary.getNumberOfTokens())+" tokens in total; output file: \""+writtenFile+"\")");
+            }
+            return writtenFile;
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+            return null;
+        }
+    }
+
+    public final File writeMetrics() {
+    /* Writes the metrics of this engine (see "TokenizerOptions.withMetrics()") as JSON into the file
+     * "metrics.json" in the output directory and returns the file (or "null" if the tokenization
+     * isn't measured or the file couldn't be written). */
+        if (metrics == null) {
+            return null;
+        }
+        new File(options.getOutputDirectory()).mkdirs();
+        final File metricsFile = new File(options.getOutputDirectory()+"/metrics.json");
+        try {
+            Files.write(metricsFile.toPath(), metrics.toJson().getBytes(StandardCharsets.UTF_8));
+            System.out.println("Metrics saved (output file: \""+metricsFile+"\")");
+            return metricsFile;
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+            return null;
+        }
+    }
+
+    public final TokenizerMetrics getMetrics() {
+    // Returns the metrics of this engine (or "null" if the tokenization isn't measured).
+        return metrics;
+    }
+
+    public final Iterator<String> tokenIterator(final Reader text) {
+    /* Returns the tokens of the "text" one by one; the "text" is read and tokenized batch by batch
+     * while the tokens are used, so even very large texts need little memory. The tokens are the
+     * same as in the token file of the "text"; the "Reader" has to be closed by the caller. */
+        return new TokenIterator(text, textTokenizer, options);
+    }
+
+    public final Stream<String> tokens(final Reader text) {
+    /* Returns the tokens of the "text" as a sequential stream which reads the "text" lazily (like
+     * "tokenIterator()"); closing the stream closes the "Reader". */
+        final TokenIterator iterator = new TokenIterator(text, textTokenizer, options);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        });
+    }
+
+    public final Stream<String> tokens(final String path, final String charset) throws IOException {
+    /* Returns the tokens of the file with the "path" ("charset": "UTF-8" or "default") as a lazy
+     * stream (see "tokens(Reader)"), which should be closed afterwards (e.g. by using it in a
+     * try-with-resources statement). */
+        return tokens(Tokenizer.openFile(path, charset.equals("UTF-8")? StandardCharsets.UTF_8 : Charset.defaultCharset(), options));
+    }
+
+    public final VerbalizationCache getVerbalizationCache() {
+    // Returns the cache of the words of numbers and years with its hit rate (or "null" if there isn't any).
+        return textTokenizer.getVerbalizationCache();
+    }
+
+    @Override
+    public final void close() {
+    /* Removes the metrics of this engine from JMX (if there are any); the engine can still be used
+     * afterwards, but its metrics can't be watched anymore. */
+        if (metrics != null) {
+            metrics.unregister();
+        }
+    }
+
+    public final boolean isExtendedTokenization() {
+        return extendedTokenization;
+    }
+
+    public final TokenizerOptions getOptions() {
+        return options;
+    }
+}
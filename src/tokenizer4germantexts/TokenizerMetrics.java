@@ -0,0 +1,273 @@
+// TokenizerMetrics.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/* Counters that show where the time of the tokenization goes: the time spent in every stage of the
+ * "TokenizerPipeline", the batches, lines, characters, bytes and tokens worked on and the
+ * wall time of every file. The counters are "LongAdder"s, so the threads tokenizing at the same time
+ * hardly get in each other's way; without metrics (the default, see
+ * "TokenizerOptions.withMetrics()") nothing is measured at all.
+ * The metrics of an engine can be watched via JMX ("tokenizer4germantexts:type=TokenizerMetrics")
+ * while it is working and written as a JSON summary at the end ("toJson()"). */
+public final class TokenizerMetrics implements TokenizerMetricsMBean {
+
+    private final static AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final String[] stages; // the names of the stages of the pipeline (in its order)
+    private final LongAdder[] stageTimes;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder failedFiles = new LongAdder();
+    private final LongAdder fileTime = new LongAdder();
+    private final LongAccumulator maximumFileTime = new LongAccumulator(Math::max, 0);
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder characters = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private volatile long startTime = System.nanoTime();
+    private ObjectName name;
+
+    TokenizerMetrics(final String[] stages) {
+        this.stages = stages.clone();
+        stageTimes = new LongAdder[stages.length];
+        for (int i=0; i<stageTimes.length; i++) {
+            stageTimes[i] = new LongAdder();
+        }
+    }
+
+    final synchronized void register() {
+    // Makes the metrics visible via JMX (every engine gets its own name).
+        if (name != null) {
+            return;
+        }
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            name = new ObjectName("tokenizer4germantexts:type=TokenizerMetrics,name=engine"+Integer.toString(INSTANCES.incrementAndGet()));
+            server.registerMBean(this, name);
+        } catch (JMException jme) {
+            System.err.println("The metrics couldn't be registered via JMX: "+jme.getMessage());
+            name = null;
+        }
+    }
+
+    public final synchronized void unregister() {
+    // Removes the metrics from JMX (e.g. when an engine isn't used anymore).
+        if (name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException jme) {
+            System.err.println("The metrics couldn't be unregistered: "+jme.getMessage());
+        }
+        name = null;
+    }
+
+    final long addStageTime(final int stage, final long start) {
+    // Adds the time since "start" to the "stage" (its index in the pipeline) and returns the current time (the start of the next stage).
+        final long now = System.nanoTime();
+        stageTimes[stage].add(now-start);
+        return now;
+    }
+
+    final void addBatch(final int numberOfCharacters, final String tokens) {
+    // Counts a tokenized batch with its characters and tokens.
+        batches.increment();
+        characters.add(numberOfCharacters);
+        int numberOfTokens = 0;
+        for (int i=0; i<tokens.length(); i++) {
+            if (tokens.charAt(i) != ' ' && (i == 0 || tokens.charAt(i-1) == ' ')) {
+                numberOfTokens++;
+            }
+        }
+        this.tokens.add(numberOfTokens);
+    }
+
+    final void addFile(final long time, final long numberOfBytes, final long numberOfLines, final boolean successful) {
+    /* Counts a file (or website) with its wall time in nanoseconds; "numberOfBytes" is the UTF-8
+     * size of its decoded text. */
+        files.increment();
+        if (!successful) {
+            failedFiles.increment();
+        }
+        fileTime.add(time);
+        maximumFileTime.accumulate(time);
+        bytes.add(numberOfBytes);
+        lines.add(numberOfLines);
+    }
+
+    @Override
+    public final long getFiles() {
+        return files.sum();
+    }
+
+    @Override
+    public final long getFailedFiles() {
+        return failedFiles.sum();
+    }
+
+    @Override
+    public final long getFileTimeMillis() {
+    // The sum of the wall times of all files (files tokenized at the same time are all counted).
+        return fileTime.sum()/1000000;
+    }
+
+    @Override
+    public final long getMaximumFileTimeMillis() {
+        return maximumFileTime.get()/1000000;
+    }
+
+    @Override
+    public final long getLines() {
+        return lines.sum();
+    }
+
+    @Override
+    public final long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public final long getCharacters() {
+        return characters.sum();
+    }
+
+    @Override
+    public final long getBytes() {
+    /* The UTF-8 size of the decoded texts of all files, websites and "Reader"s (so the size of a
+     * compressed file or of a file in another charset isn't counted, but the size of its text). */
+        return bytes.sum();
+    }
+
+    @Override
+    public final long getTokens() {
+        return tokens.sum();
+    }
+
+    @Override
+    public final double getBatchesPerSecond() {
+        return perSecond(getBatches());
+    }
+
+    @Override
+    public final double getTokensPerSecond() {
+        return perSecond(getTokens());
+    }
+
+    @Override
+    public final double getMegabytesPerSecond() {
+        return perSecond(getBytes())/1000000;
+    }
+
+    private final double perSecond(final long value) {
+    // The "value" per second since the metrics were created (or reset).
+        final double seconds = (System.nanoTime()-startTime)/1e9;
+        return (seconds > 0)? value/seconds : 0;
+    }
+
+    @Override
+    public final String[] getStageNames() {
+        return stages.clone();
+    }
+
+    @Override
+    public final long[] getStageTimesNanos() {
+        final long[] times = new long[stages.length];
+        for (int i=0; i<times.length; i++) {
+            times[i] = stageTimes[i].sum();
+        }
+        return times;
+    }
+
+    @Override
+    public final String toJson() {
+    // Returns all metrics as a JSON object (the stages with their times and their share of the total time).
+        final long[] times = getStageTimesNanos();
+        long totalTime = 0;
+        for (long time : times) {
+            totalTime += time;
+        }
+        final StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\n");
+        sb.append("  \"elapsedMillis\": ").append((System.nanoTime()-startTime)/1000000).append(",\n");
+        sb.append("  \"files\": ").append(getFiles()).append(",\n");
+        sb.append("  \"failedFiles\": ").append(getFailedFiles()).append(",\n");
+        sb.append("  \"fileTimeMillis\": ").append(getFileTimeMillis()).append(",\n");
+        sb.append("  \"maximumFileTimeMillis\": ").append(getMaximumFileTimeMillis()).append(",\n");
+        sb.append("  \"lines\": ").append(getLines()).append(",\n");
+        sb.append("  \"batches\": ").append(getBatches()).append(",\n");
+        sb.append("  \"characters\": ").append(getCharacters()).append(",\n");
+        sb.append("  \"bytes\": ").append(getBytes()).append(",\n");
+        sb.append("  \"tokens\": ").append(getTokens()).append(",\n");
+        sb.append("  \"batchesPerSecond\": ").append(round(getBatchesPerSecond())).append(",\n");
+        sb.append("  \"tokensPerSecond\": ").append(round(getTokensPerSecond())).append(",\n");
+        sb.append("  \"megabytesPerSecond\": ").append(round(getMegabytesPerSecond())).append(",\n");
+        sb.append("  \"stages\": {");
+        for (int i=0; i<stages.length; i++) {
+            sb.append((i == 0)? "\n" : ",\n");
+            appendString(sb.append("    "), stages[i]).append(": {\"millis\": ").append(times[i]/1000000).append(", \"share\": ").append(round((totalTime > 0)? (double)times[i]/totalTime : 0)).append('}');
+        }
+        return sb.append("\n  }\n}\n").toString();
+    }
+
+    private static final StringBuilder appendString(final StringBuilder sb, final String string) {
+    // Appends the "string" as a JSON string (the names of stages of your own can contain any character).
+        sb.append('"');
+        for (int i=0; i<string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int)c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"');
+    }
+
+    private static final double round(final double value) {
+        return Math.round(value*1000)/1000.0;
+    }
+
+    @Override
+    public final void reset() {
+    // Sets all counters back to 0.
+        for (LongAdder stageTime : stageTimes) {
+            stageTime.reset();
+        }
+        files.reset();
+        failedFiles.reset();
+        fileTime.reset();
+        maximumFileTime.reset();
+        lines.reset();
+        batches.reset();
+        characters.reset();
+        bytes.reset();
+        tokens.reset();
+        startTime = System.nanoTime();
+    }
+}
@@ -0,0 +1,53 @@
+// TokenizerMetricsMBean.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+// The attributes and operations of "TokenizerMetrics" that can be seen via JMX (e.g. in JConsole).
+public interface TokenizerMetricsMBean {
+
+    long getFiles();
+
+    long getFailedFiles();
+
+    long getFileTimeMillis();
+
+    long getMaximumFileTimeMillis();
+
+    long getLines();
+
+    long getBatches();
+
+    long getCharacters();
+
+    long getBytes();
+
+    long getTokens();
+
+    double getBatchesPerSecond();
+
+    double getTokensPerSecond();
+
+    double getMegabytesPerSecond();
+
+    String[] getStageNames();
+
+    long[] getStageTimesNanos();
+
+    String toJson();
+
+    void reset();
+}
@@ -0,0 +1,273 @@
+// TokenizerOptions.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+/* The settings of a "Tokenizer" that don't concern the tokenization itself: where and in which format
+ * the token files are written, how fast the tokenizer works (like the number of workers per file or
+ * the sizes of its buffers), whether the vocabulary of the token files is counted and whether the
+ * tokenization is measured. The options can't be changed; every "with...()" method returns a copy. */
+public final class TokenizerOptions {
+
+    public final static TokenizerOptions DEFAULT = new TokenizerOptions();
+
+    /* The fields are only set by the "with...()" methods on a new copy before it is returned, so an
+     * instance never changes once another object can see it. */
+    private String outputDirectory = "token_files";
+    private int workers = 1;
+    private int batchSize = 100;
+    private int readBufferSize = 64*1024;
+    private int writeBufferSize = 1024*1024;
+    private int flushInterval = 50;
+    private boolean memoryMapped;
+    private boolean vocabularyCounted;
+    private int minCount = 1;
+    private int topK;
+    private boolean binaryOutput;
+    private boolean compressed;
+    private boolean measured;
+    private TokenizerPipeline pipeline; // "null" for the pipeline of the mode of the engine
+    private int verbalizationCacheSize;
+
+    private TokenizerOptions() {
+    }
+
+    private TokenizerOptions(final TokenizerOptions options) {
+        outputDirectory = options.outputDirectory;
+        workers = options.workers;
+        batchSize = options.batchSize;
+        readBufferSize = options.readBufferSize;
+        writeBufferSize = options.writeBufferSize;
+        flushInterval = options.flushInterval;
+        memoryMapped = options.memoryMapped;
+        vocabularyCounted = options.vocabularyCounted;
+        minCount = options.minCount;
+        topK = options.topK;
+        binaryOutput = options.binaryOutput;
+        compressed = options.compressed;
+        measured = options.measured;
+        pipeline = options.pipeline;
+        verbalizationCacheSize = options.verbalizationCacheSize;
+    }
+
+    public final TokenizerOptions withOutputDirectory(final String outputDirectory) {
+    // The directory the token files are written to ("token_files" by default).
+        if (outputDirectory == null || outputDirectory.isEmpty()) {
+            throw new IllegalArgumentException("The output directory must not be empty.");
+        }
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.outputDirectory = outputDirectory;
+        return options;
+    }
+
+    public final TokenizerOptions withWorkers(final int workers) {
+    /* The number of threads that tokenize the batches of a single file at the same time (the output
+     * stays the same as if only one thread was used). */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.workers = checkPositive(workers, "workers");
+        return options;
+    }
+
+    public final TokenizerOptions withBatchSize(final int batchSize) {
+    /* The number of lines that are tokenized at once (the lines of a batch are joined by spaces, so
+     * this can change the output where something like a time or an abbreviation is split up by a
+     * line break). */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.batchSize = checkPositive(batchSize, "batch size");
+        return options;
+    }
+
+    public final TokenizerOptions withReadBufferSize(final int readBufferSize) {
+    // The number of characters that are read from the input file at once.
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.readBufferSize = checkPositive(readBufferSize, "read buffer size");
+        return options;
+    }
+
+    public final TokenizerOptions withWriteBufferSize(final int writeBufferSize) {
+    // The number of bytes that are collected before they are written to the output file.
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.writeBufferSize = checkPositive(writeBufferSize, "write buffer size");
+        return options;
+    }
+
+    public final TokenizerOptions withFlushInterval(final int flushInterval) {
+    /* The output file gets flushed after every "flushInterval" batches (and whenever the write
+     * buffer is full); 0 means that it only gets flushed when the write buffer is full. */
+        if (flushInterval < 0) {
+            throw new IllegalArgumentException("The flush interval must not be negative: "+Integer.toString(flushInterval));
+        }
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.flushInterval = flushInterval;
+        return options;
+    }
+
+    public final TokenizerOptions withMemoryMapping(final boolean memoryMapped) {
+    /* If "memoryMapped" is "true", the input files get mapped into memory window by window instead
+     * of being read through a read buffer (which saves copying for very large files). */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.memoryMapped = memoryMapped;
+        return options;
+    }
+
+    public final TokenizerOptions withVocabulary(final boolean vocabularyCounted) {
+    /* If "vocabularyCounted" is "true", the tokens are counted while the token files are written, so
+     * the vocabulary can be saved afterwards without reading the token files again. */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.vocabularyCounted = vocabularyCounted;
+        return options;
+    }
+
+    public final TokenizerOptions withMinCount(final int minCount) {
+    // Only tokens that occur at least "minCount" times are saved in the vocabulary (1 by default).
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.minCount = checkPositive(minCount, "minimum count");
+        return options;
+    }
+
+    public final TokenizerOptions withTopK(final int topK) {
+    // Only the "topK" most frequent tokens are saved in the vocabulary; 0 (the default) means all.
+        if (topK < 0) {
+            throw new IllegalArgumentException("The number of tokens in the vocabulary must not be negative: "+Integer.toString(topK));
+        }
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.topK = topK;
+        return options;
+    }
+
+    public final TokenizerOptions withBinaryOutput(final boolean binaryOutput) {
+    /* If "binaryOutput" is "true", the token files ("tokensN.ids") contain the ids of the tokens as
+     * varints instead of the tokens themselves (see "TokenIdWriter" and "TokenIdReader"). */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.binaryOutput = binaryOutput;
+        return options;
+    }
+
+    public final TokenizerOptions withCompression(final boolean compressed) {
+    /* If "compressed" is "true", the token files get compressed with gzip (".gz" is added to their
+     * names); every file is compressed in chunks by as many threads as there are "workers". Note
+     * that "TokenIdReader" can only read uncompressed files. */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.compressed = compressed;
+        return options;
+    }
+
+    public final TokenizerOptions withMetrics(final boolean measured) {
+    /* If "measured" is "true", an engine measures the time of every stage of the tokenization and
+     * counts the files, lines, batches and tokens (see "TokenizerMetrics"). */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.measured = measured;
+        return options;
+    }
+
+    public final TokenizerOptions withPipeline(final TokenizerPipeline pipeline) {
+    /* The stages the texts go through (see "TokenizerPipeline"), e.g. the extended tokenization
+     * without the stage "dates"; the pipeline replaces the one of the mode of the engine ("null"
+     * for the standard or the extended tokenization as selected). */
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.pipeline = pipeline;
+        return options;
+    }
+
+    public final TokenizerOptions withVerbalizationCache(final int verbalizationCacheSize) {
+    /* The maximum number of numbers and years (each in its context) whose words are cached by an
+     * engine, so they don't have to be converted again (see "VerbalizationCache"); the least
+     * recently used entries are removed first. 0 (the default) switches the cache off. */
+        if (verbalizationCacheSize < 0) {
+            throw new IllegalArgumentException("The size of the cache must not be negative: "+Integer.toString(verbalizationCacheSize));
+        }
+        final TokenizerOptions options = new TokenizerOptions(this);
+        options.verbalizationCacheSize = verbalizationCacheSize;
+        return options;
+    }
+
+    public final String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public final int getWorkers() {
+        return workers;
+    }
+
+    public final int getBatchSize() {
+        return batchSize;
+    }
+
+    public final int getReadBufferSize() {
+        return readBufferSize;
+    }
+
+    public final int getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    public final int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public final boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    public final boolean isVocabularyCounted() {
+        return vocabularyCounted;
+    }
+
+    public final int getMinCount() {
+        return minCount;
+    }
+
+    public final int getTopK() {
+        return topK;
+    }
+
+    public final boolean isBinaryOutput() {
+        return binaryOutput;
+    }
+
+    public final boolean isCompressed() {
+        return compressed;
+    }
+
+    public final boolean isMeasured() {
+        return measured;
+    }
+
+    public final TokenizerPipeline getPipeline() {
+        return pipeline;
+    }
+
+    public final int getVerbalizationCacheSize() {
+        return verbalizationCacheSize;
+    }
+
+    final VerbalizationCache createVerbalizationCache() {
+    // Returns a new cache of the selected size (or "null" if there shouldn't be any).
+        return (verbalizationCacheSize > 0)? new VerbalizationCache(verbalizationCacheSize) : null;
+    }
+
+    final TokenizerPipeline getPipeline(final boolean extendedTokenization) {
+    // Returns the pipeline that has been set or - if there isn't any - the one of the mode.
+        return (pipeline != null)? pipeline : TokenizerPipeline.of(extendedTokenization);
+    }
+
+    private static final int checkPositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException("The "+name+" must be at least 1: "+Integer.toString(value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,180 @@
+// TokenizerPipeline.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/* The ordered stages a batch of lines goes through to become tokens. "standard()" and "extended()"
+ * are the two tokenizations of this program; a pipeline never changes, but it can be copied without
+ * certain stages (e.g. "TokenizerPipeline.extended().without(TokenizerPipeline.DATES)" replaces the
+ * numbers without looking for dates first) or with stages of its own, which are inserted in front of,
+ * behind or instead of a stage. A pipeline is used by setting "TokenizerOptions.withPipeline()".
+ * Certain '.', ':', and '-' that are needed by later stages are temporarily replaced with "|ßß|",
+ * " XßßX " and "YßßY" by the first stages and put back by "markers", so stages of your own should
+ * keep such markers as they are. */
+public final class TokenizerPipeline {
+
+    public final static String PREPARATION = "preparation";
+    public final static String ABBREVIATIONS = "abbreviations";
+    public final static String HYPHENS_AND_DASHES = "hyphensAndDashes";
+    public final static String SEPARATORS = "separators";
+    public final static String SYMBOLS = "symbols";
+    public final static String TIME_FORMATS = "timeFormats";
+    public final static String DATES = "dates";
+    public final static String SINGLE_CHARACTERS = "singleCharacters";
+    public final static String NUMBERS = "numbers";
+    public final static String YEARS = "years";
+    public final static String MARKERS = "markers";
+    private final static TokenizerPipeline STANDARD = new TokenizerPipeline(new TokenizerStage[] {
+            new BuiltInStage.Preparation(false), new BuiltInStage.Abbreviations(false), new BuiltInStage.HyphensAndDashes(),
+            new BuiltInStage.Separators(), new BuiltInStage.Symbols(false), new BuiltInStage.Markers()});
+    private final static TokenizerPipeline EXTENDED = new TokenizerPipeline(new TokenizerStage[] {
+            new BuiltInStage.Preparation(true), new BuiltInStage.Abbreviations(true), new BuiltInStage.HyphensAndDashes(),
+            new BuiltInStage.Separators(), new BuiltInStage.Symbols(true), new BuiltInStage.TimeFormats(), new BuiltInStage.Dates(),
+            new BuiltInStage.SingleCharacters(), new BuiltInStage.Numbers(), new BuiltInStage.Years(), new BuiltInStage.Markers()});
+
+    private final TokenizerStage[] stages;
+
+    private TokenizerPipeline(final TokenizerStage[] stages) {
+        this.stages = stages;
+    }
+
+    public static final TokenizerPipeline standard() {
+    // Protects abbreviations, numbers, dates and times and deletes punctuation marks.
+        return STANDARD;
+    }
+
+    public static final TokenizerPipeline extended() {
+    /* Clarifies abbreviations and replaces numbers, dates and times with words (the stages
+     * "timeFormats", "dates", "singleCharacters", "numbers" and "years" only exist in this
+     * pipeline). */
+        return EXTENDED;
+    }
+
+    public static final TokenizerPipeline of(final boolean extendedTokenization) {
+        return extendedTokenization? EXTENDED : STANDARD;
+    }
+
+    public final TokenizerPipeline without(final String... names) {
+    // Returns a copy of this pipeline without the stages with the given "names".
+        final List<TokenizerStage> list = new ArrayList<>(Arrays.asList(stages));
+        for (String name : names) {
+            indexOf(name); // makes sure that the stage exists
+            list.removeIf(stage -> stage.getName().equals(name));
+        }
+        return new TokenizerPipeline(list.toArray(new TokenizerStage[0]));
+    }
+
+    public final TokenizerPipeline replace(final String name, final TokenizerStage stage) {
+    /* Returns a copy of this pipeline in which the stage "name" is replaced with "stage" (which may
+     * have the same name, e.g. a stage "numbers" of your own). */
+        final int index = indexOf(name);
+        final TokenizerStage[] copy = stages.clone();
+        copy[index] = checkName(stage, index);
+        return new TokenizerPipeline(copy);
+    }
+
+    public final TokenizerPipeline insertBefore(final String name, final TokenizerStage stage) {
+        return insert(indexOf(name), stage);
+    }
+
+    public final TokenizerPipeline insertAfter(final String name, final TokenizerStage stage) {
+        return insert(indexOf(name)+1, stage);
+    }
+
+    private final TokenizerPipeline insert(final int index, final TokenizerStage stage) {
+        final List<TokenizerStage> list = new ArrayList<>(Arrays.asList(stages));
+        list.add(index, checkName(stage, -1));
+        return new TokenizerPipeline(list.toArray(new TokenizerStage[0]));
+    }
+
+    private final TokenizerStage checkName(final TokenizerStage stage, final int replacedIndex) {
+    /* Makes sure that every stage can be found by its name (and measured on its own); the stage at
+     * "replacedIndex" (-1 if none is replaced) doesn't count. */
+        for (int i=0; i<stages.length; i++) {
+            if (i != replacedIndex && stages[i].getName().equals(stage.getName())) {
+                throw new IllegalArgumentException("The pipeline already contains a stage called \""+stage.getName()+"\".");
+            }
+        }
+        return stage;
+    }
+
+    private final int indexOf(final String name) {
+        for (int i=0; i<stages.length; i++) {
+            if (stages[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("The pipeline doesn't contain a stage called \""+name+"\": "+toString());
+    }
+
+    public final boolean contains(final String name) {
+        for (TokenizerStage stage : stages) {
+            if (stage.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public final TokenizerStage getStage(final String name) {
+        return stages[indexOf(name)];
+    }
+
+    public final List<TokenizerStage> getStages() {
+        return Collections.unmodifiableList(Arrays.asList(stages));
+    }
+
+    public final String[] getStageNames() {
+        final String[] names = new String[stages.length];
+        for (int i=0; i<names.length; i++) {
+            names[i] = stages[i].getName();
+        }
+        return names;
+    }
+
+    final TokenizerPipeline before(final String name) {
+    // Returns the stages in front of the stage "name" (e.g. to prepare the input of a single stage).
+        return new TokenizerPipeline(Arrays.copyOf(stages, indexOf(name)));
+    }
+
+    final String apply(final TokenizerBatch batch, final TokenizerMetrics metrics) {
+    /* Lets all stages work on the "batch" one after the other and returns its tokens separated by
+     * spaces; if there are "metrics", the time of every stage is added to them (the stages of the
+     * metrics have to be those of this pipeline). */
+        if (metrics == null) {
+            for (TokenizerStage stage : stages) {
+                stage.apply(batch);
+            }
+        } else {
+            long time = System.nanoTime();
+            for (int i=0; i<stages.length; i++) {
+                stages[i].apply(batch);
+                time = metrics.addStageTime(i, time);
+            }
+        }
+        return batch.getLines();
+    }
+
+    @Override
+    public final String toString() {
+        return Arrays.toString(getStageNames());
+    }
+}
@@ -0,0 +1,28 @@
+// TokenizerStage.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+/* A single step of the tokenization of a batch (see "TokenizerPipeline"). A stage gets the batch as
+ * it has been left by the stages in front of it and replaces its lines with its own result; stages
+ * can be used by several threads at the same time, so they shouldn't keep any state of a batch. */
+public interface TokenizerStage {
+
+    String getName();
+    // The name the stage is found by in a pipeline and listed with in the metrics.
+
+    void apply(TokenizerBatch batch);
+}
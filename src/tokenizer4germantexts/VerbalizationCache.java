@@ -0,0 +1,152 @@
+// VerbalizationCache.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/* A bounded cache of the words numbers and years have been replaced with, so a number that occurs
+ * again in the same context (e.g. "2019" behind "jahr", "1. " in front of "januar" or "12 " in
+ * front of "uhr") only costs a hash lookup. The keys are made of the number as it is written, the
+ * class of its context and the part of the text behind it that the conversion depends on (see
+ * "NumeralConverter.replaceNumbers()" and "TextTokenizer.detectYears()").
+ * The cache is split up into segments, each of them a "LinkedHashMap" in access order that removes
+ * its least recently used entry when it is full, so the threads of an engine rarely wait for each
+ * other. Hits and misses are counted, see "TokenizerEngine.getVerbalizationCache()" and
+ * "TokenizerOptions.withVerbalizationCache()". */
+public final class VerbalizationCache {
+
+    private final static int SEGMENTS = 16; // the maximal number of segments (a power of 2)
+    final static Verbalization UNCHANGED = new Verbalization(null, 0); // for numbers that remain as they are
+
+    private final Segment[] segments;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerbalizationCache(final int maximumSize) {
+    // The "maximumSize" is split up evenly among the segments (so it may be exceeded by less than 16 entries).
+        this.maximumSize = maximumSize;
+        segments = new Segment[Integer.highestOneBit(Math.min(SEGMENTS, maximumSize))];
+        for (int i=0; i<segments.length; i++) {
+            segments[i] = new Segment((maximumSize+segments.length-1)/segments.length);
+        }
+    }
+
+    final Verbalization get(final String key) {
+    // Returns the cached verbalization of the "key" (or "null" if it isn't cached).
+        final Segment segment = segmentOf(key);
+        final Verbalization verbalization;
+        synchronized (segment) {
+            verbalization = segment.get(key);
+        }
+        if (verbalization == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return verbalization;
+    }
+
+    final void put(final String key, final Verbalization verbalization) {
+        final Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, verbalization);
+        }
+    }
+
+    private final Segment segmentOf(final String key) {
+        final int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length-1)];
+    }
+
+    public final long getHits() {
+        return hits.sum();
+    }
+
+    public final long getMisses() {
+        return misses.sum();
+    }
+
+    public final double getHitRate() {
+    // The share of the lookups that have been answered by the cache (0 if there haven't been any).
+        final long numberOfHits = getHits();
+        final long lookups = numberOfHits+getMisses();
+        return (lookups > 0)? (double)numberOfHits/lookups : 0;
+    }
+
+    public final int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public final int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public final void clear() {
+    // Removes all entries and sets the hits and misses back to 0.
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public final String toString() {
+        return "VerbalizationCache[size="+Integer.toString(size())+", maximumSize="+Integer.toString(maximumSize)+", hits="+Long.toString(getHits())+", misses="+Long.toString(getMisses())+"]";
+    }
+
+    static final class Verbalization {
+    /* The words a number has been replaced with and the length of the part of the text they
+     * replace (counted from the first digit of the number). */
+
+        final String words;
+        final int length;
+
+        Verbalization(final String words, final int length) {
+            this.words = words;
+            this.length = length;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Verbalization> {
+    // A part of the cache that removes its least recently used entry when it is full.
+
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        private Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected final boolean removeEldestEntry(final Map.Entry<String, Verbalization> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+// Vocabulary.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/* A tool to count how often every token occurs (e.g. to get the vocabulary of the training data of
+ * word vectors while the token files are written) and to map the tokens to ids (for token files in
+ * the binary format of "TokenIdWriter"). Every new token gets the next id; the ids are kept in a
+ * hash table with open addressing (linear probing) and the counts in an "int[]", so counting a
+ * token that has already been seen creates no object at all.
+ * Only "addTokens()" isn't synchronized: every tokenizer counts the tokens of its file in its own
+ * "Vocabulary" and merges it into a shared one at the end, while the ids of binary token files are
+ * taken from the shared "Vocabulary" (one batch at a time). */
+final class Vocabulary {
+
+    private final static int INITIAL_CAPACITY = 1024; // a power of 2
+
+    private int[] table = new int[INITIAL_CAPACITY]; // id+1 of the token in every slot (0: empty)
+    private String[] tokens = new String[INITIAL_CAPACITY/2];
+    private int[] hashes = new int[INITIAL_CAPACITY/2];
+    private int[] counts = new int[INITIAL_CAPACITY/2];
+    private int size;
+    private long numberOfTokens;
+
+    Vocabulary() {
+    }
+
+    final void addTokens(final String lines) {
+    // Counts all tokens of a finished batch (tokens are separated by spaces).
+        int start = 0;
+        for (int i=0; i<=lines.length(); i++) {
+            if (i == lines.length() || lines.charAt(i) == ' ') {
+                if (i > start) {
+                    add(lines, start, i, 1);
+                }
+                start = i+1;
+            }
+        }
+    }
+
+    final synchronized int[] toIds(final String lines) {
+    /* Counts all tokens of "lines" and returns their ids (a new token gets the next id, so the ids
+     * of all tokens that have been seen before stay the same). */
+        int numberOfTokens = 0;
+        for (int i=0; i<lines.length(); i++) {
+            if (lines.charAt(i) != ' ' && (i == 0 || lines.charAt(i-1) == ' ')) {
+                numberOfTokens++;
+            }
+        }
+        final int[] ids = new int[numberOfTokens];
+        int start = 0;
+        int numberOfIds = 0;
+        for (int i=0; i<=lines.length(); i++) {
+            if (i == lines.length() || lines.charAt(i) == ' ') {
+                if (i > start) {
+                    ids[numberOfIds++] = add(lines, start, i, 1);
+                }
+                start = i+1;
+            }
+        }
+        return ids;
+    }
+
+    private final int add(final String text, final int start, final int end, final int count) {
+    /* Adds "count" to the token between "start" and "end" of the "text" and returns its id (the
+     * token only gets copied if it hasn't been seen before). */
+        int hash = 0;
+        for (int i=start; i<end; i++) {
+            hash = 31*hash+text.charAt(i);
+        }
+        final int length = end-start;
+        int slot = mix(hash) & (table.length-1);
+        while (table[slot] != 0) {
+            final int id = table[slot]-1;
+            if (hashes[id] == hash && tokens[id].length() == length && text.regionMatches(start, tokens[id], 0, length)) {
+                counts[id] += count;
+                numberOfTokens += count;
+                return id;
+            }
+            slot = (slot+1) & (table.length-1);
+        }
+        if (size == tokens.length) {
+            grow();
+            slot = mix(hash) & (table.length-1);
+            while (table[slot] != 0) {
+                slot = (slot+1) & (table.length-1);
+            }
+        }
+        tokens[size] = (start == 0 && end == text.length())? text : text.substring(start, end);
+        hashes[size] = hash;
+        counts[size] = count;
+        table[slot] = ++size;
+        numberOfTokens += count;
+        return size-1;
+    }
+
+    private final void grow() {
+    // Doubles the capacity (the table is never more than half full).
+        table = new int[table.length*2];
+        tokens = Arrays.copyOf(tokens, tokens.length*2);
+        hashes = Arrays.copyOf(hashes, hashes.length*2);
+        counts = Arrays.copyOf(counts, counts.length*2);
+        for (int id=0; id<size; id++) {
+            int slot = mix(hashes[id]) & (table.length-1);
+            while (table[slot] != 0) {
+                slot = (slot+1) & (table.length-1);
+            }
+            table[slot] = id+1;
+        }
+    }
+
+    private static final int mix(final int hash) {
+    // Spreads the bits of "String.hashCode()"-like hashes (which are poor in their lower bits).
+        final int h = hash*0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    final synchronized void merge(final Vocabulary vocabulary) {
+    // Adds all counts of the "vocabulary" (which mustn't be changed at the same time) to this one.
+        for (int id=0; id<vocabulary.size; id++) {
+            add(vocabulary.tokens[id], 0, vocabulary.tokens[id].length(), vocabulary.counts[id]);
+        }
+    }
+
+    final synchronized int size() {
+    // Returns the number of different tokens.
+        return size;
+    }
+
+    final synchronized long getNumberOfTokens() {
+        return numberOfTokens;
+    }
+
+    final synchronized int getCount(final String token) {
+    // Returns how often the "token" has been counted (0 if never).
+        int slot = mix(token.hashCode()) & (table.length-1);
+        while (table[slot] != 0) {
+            final int id = table[slot]-1;
+            if (tokens[id].equals(token)) {
+                return counts[id];
+            }
+            slot = (slot+1) & (table.length-1);
+        }
+        return 0;
+    }
+
+    final synchronized void writeIds(final File file) throws IOException {
+    /* Writes all tokens in the order of their ids into the "file" ("token count" in every line, so
+     * the token with the id n is found in line n+1; UTF-8 encoded). */
+        try (final BufferedWriter bw = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (int id=0; id<size; id++) {
+                bw.write(tokens[id]);
+                bw.write(' ');
+                bw.write(Integer.toString(counts[id]));
+                bw.write('\n');
+            }
+        }
+    }
+
+    final synchronized int write(final File file, final int minCount, final int topK) throws IOException {
+    /* Writes the tokens that occur at least "minCount" times (but at most "topK" of them; 0 for all)
+     * into the "file" ("token count" in every line, UTF-8 encoded), sorted by their counts (and
+     * alphabetically if the counts are equal); returns the number of written tokens. */
+        Integer[] ids = new Integer[size];
+        int numberOfIds = 0;
+        for (int id=0; id<size; id++) {
+            if (counts[id] >= minCount) {
+                ids[numberOfIds++] = id;
+            }
+        }
+        ids = Arrays.copyOf(ids, numberOfIds);
+        Arrays.sort(ids, (first, second) -> (counts[first] != counts[second])? Integer.compare(counts[second], counts[first]) : tokens[first].compareTo(tokens[second]));
+        final int numberOfWrittenTokens = (topK > 0)? Math.min(topK, numberOfIds) : numberOfIds;
+        try (final BufferedWriter bw = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (int i=0; i<numberOfWrittenTokens; i++) {
+                bw.write(tokens[ids[i]]);
+                bw.write(' ');
+                bw.write(Integer.toString(counts[ids[i]]));
+                bw.write('\n');
+            }
+        }
+        return numberOfWrittenTokens;
+    }
+}
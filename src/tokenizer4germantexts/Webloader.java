@@ -16,195 +16,107 @@
 
 package tokenizer4germantexts;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.net.ConnectException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 // A tool to download the source code of a website and to prepare it for tokenization.
 public class Webloader {
     
+    final static String USER_AGENT = "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0";
+    private final static int SNIFFING_LENGTH = 4096; // the number of bytes in which a "<meta>" tag with the charset is looked for
     private final URL url;
+    private Reader text;
     
     public Webloader(final URL url) {
         this.url = url;
     }
     
+    public final Reader getText() {
+    /* Returns the text of the website, which is extracted from the HTML-code while it is being
+     * downloaded (or "null" if "loadWebsite()" has failed). The reader has to be closed afterwards. */
+        return text;
+    }
+    
     public final boolean loadWebsite() {
+    // Tries to open the URL; the HTML-code will be downloaded and cleared while "getText()" is read.
         InputStream is = null;
-        BufferedReader br = null;
-        String line;
-        OutputStreamWriter writer = null;
-        // Tries to open the URL, to read the HTML-code, and to work on it.
         try {
             URLConnection openConnection = url.openConnection();
-            openConnection.addRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0");
-            is = openConnection.getInputStream();
-            br = checkCharset()? new BufferedReader(new InputStreamReader(is, "UTF-8")) : new BufferedReader(new InputStreamReader(is));
-            writer = new OutputStreamWriter(new FileOutputStream("temp"));
-            String contentOfWebsite = "";
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    contentOfWebsite += line+" ";
-                }
-            }
-            writer.write(clearHTML(contentOfWebsite)); // writes the "cleared" HTML-code into a temporary file
+            openConnection.addRequestProperty("User-Agent", USER_AGENT);
+            is = new BufferedInputStream(openConnection.getInputStream());
+            text = new HtmlTextReader(new BufferedReader(new InputStreamReader(is, detectCharset(openConnection.getContentType(), is))));
+            return true;
         } catch (UnknownHostException | ConnectException internetProblems) {
             System.err.println("The URL (\""+url+"\") couldn't be opened. Check if it is spelled correctly and if you are connected to the internet!");
-            return false;
         } catch (IOException ioe) {
             ioe.printStackTrace();
-            return false;
-        } finally {
+        }
+        if (is != null) {
             try {
-                if (is != null) {
-                    is.close();
-                }
-                if (br != null) {
-                    br.close();
-                }
-                if (writer != null) {
-                    writer.close();
-                }
+                is.close();
             } catch (IOException ioe) {
                 ioe.printStackTrace();
             }
         }
-        return true;
+        return false;
     }
     
-    private final boolean checkCharset() {
-    // Returns "true" if the "charset" of the HTML-code is "UTF-8" and "false" otherwise.
-        try {
-            URLConnection openConnection = url.openConnection();
-            openConnection.addRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20100101 Firefox/25.0");
-            final BufferedReader br = new BufferedReader(new InputStreamReader(openConnection.getInputStream()));
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.toLowerCase();
-                if (line.contains("charset") && line.contains("utf-8")) {
-                    return true;
-                }
-            }
-        } catch (IOException ioe) {
-            ioe.printStackTrace();
+    static final Charset detectCharset(final String contentType, final InputStream is) throws IOException {
+    /* Returns the charset of a website: the one given in the "Content-Type" header of the response
+     * or - if there is none - the one given at the beginning of the HTML-code (in a byte order mark
+     * or a "<meta>" tag). If no (supported) charset can be found, the default charset is returned.
+     * "is" has to support "mark()", it will be reset to the beginning of the HTML-code. */
+        Charset charset = findCharset(contentType);
+        if (charset != null) {
+            return charset;
         }
-        return false;
+        final byte[] beginning = new byte[SNIFFING_LENGTH];
+        is.mark(SNIFFING_LENGTH);
+        int length = 0;
+        int read;
+        while (length < beginning.length && (read = is.read(beginning, length, beginning.length-length)) > 0) {
+            length += read;
+        }
+        is.reset();
+        if (length >= 3 && beginning[0] == (byte)0xEF && beginning[1] == (byte)0xBB && beginning[2] == (byte)0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        charset = findCharset(new String(beginning, 0, length, StandardCharsets.ISO_8859_1));
+        return (charset != null)? charset : Charset.defaultCharset();
     }
     
-    private static final String clearHTML(String tempFileContent) {
-    // Deletes HTML tags and comments and clarifies some of the special characters.
-        // Deletes the HTML-tags and comments.
-        final String[] start = {"<script", "<style", "<!--", "<", "&lt;", "&#60;", "&#91;"};
-        final String[] end = {"/script>", "/style>", "-->", ">", "&gt;", "&#63;", "&#93;"};
-        for (int i=0; i<start.length; i++) {
-            tempFileContent = tempFileContent.replaceAll(start[i]+".*?"+end[i], " _ ");
+    private static final Charset findCharset(final String text) {
+    // Returns the charset named behind the first "charset=" in the "text" (or "null").
+        if (text == null) {
+            return null;
         }
-        /* Clarifies some of the special characters in the HTML code that seem to be important or
-         * are often used in German. (Some of them will be replaced later during the tokenization.) */
-        final String[] initial = {";", "&"};
-        final String[] temporaryChar = {";", ""};
-        tempFileContent = tempFileContent.replaceAll("&amp;nbsp;", " ");
-        for (int i=0; i<initial.length; i++) {
-            tempFileContent = tempFileContent.replaceAll(initial[i]+"nbsp;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"#160;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"quot;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"apos;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"[lr]aquo;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"[blr]dquo;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"sbquo;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"[lr]s(a)?quo;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"[mn]dash;", temporaryChar[i]+"-")
-                    .replaceAll(initial[i]+"[dlru]arr;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"#859[2-5];", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"hellip;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"#8230;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"#3[49];", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"frasl;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"amp;", temporaryChar[i]+"&")
-                    .replaceAll(initial[i]+"#38;", temporaryChar[i]+"&")
-                    .replaceAll(initial[i]+"[Aa]acute;", temporaryChar[i]+"á")
-                    .replaceAll(initial[i]+"[Aa]circ;", temporaryChar[i]+"â")
-                    .replaceAll(initial[i]+"[Aa]grave;", temporaryChar[i]+"à")
-                    .replaceAll(initial[i]+"[Ee]acute;", temporaryChar[i]+"é")
-                    .replaceAll(initial[i]+"[Ee]circ;", temporaryChar[i]+"ê")
-                    .replaceAll(initial[i]+"[Ee]grave;", temporaryChar[i]+"è")
-                    .replaceAll(initial[i]+"[Ii]acute;", temporaryChar[i]+"í")
-                    .replaceAll(initial[i]+"[Ii]circ;", temporaryChar[i]+"î")
-                    .replaceAll(initial[i]+"[Oo]acute;", temporaryChar[i]+"ó")
-                    .replaceAll(initial[i]+"[Oo]circ;", temporaryChar[i]+"ô")
-                    .replaceAll(initial[i]+"[Oo]grave;", temporaryChar[i]+"ò")
-                    .replaceAll(initial[i]+"[Uu]acute;", temporaryChar[i]+"ú")
-                    .replaceAll(initial[i]+"[Uu]circ;", temporaryChar[i]+"û")
-                    .replaceAll(initial[i]+"AElig;", temporaryChar[i]+"æ")
-                    .replaceAll(initial[i]+"aelig;", temporaryChar[i]+"æ")
-                    .replaceAll(initial[i]+"OElig;", temporaryChar[i]+"œ")
-                    .replaceAll(initial[i]+"oelig;", temporaryChar[i]+"œ")
-                    .replaceAll(initial[i]+"permil;", temporaryChar[i]+" promille ")
-                    .replaceAll(initial[i]+"cent;", temporaryChar[i]+" cent ")
-                    .replaceAll(initial[i]+"#162;", temporaryChar[i]+" cent ")
-                    .replaceAll(initial[i]+"euro;", temporaryChar[i]+" euro ")
-                    .replaceAll(initial[i]+"#8364;", temporaryChar[i]+" euro ")
-                    .replaceAll(initial[i]+"pound;", temporaryChar[i]+" pfund ")
-                    .replaceAll(initial[i]+"#163;", temporaryChar[i]+" pfund ")
-                    .replaceAll(initial[i]+"yen;", temporaryChar[i]+" yen ")
-                    .replaceAll(initial[i]+"#165;", temporaryChar[i]+" yen ")
-                    .replaceAll(initial[i]+"copy;", temporaryChar[i]+" copyright ")
-                    .replaceAll(initial[i]+"#169;", temporaryChar[i]+" copyright ")
-                    .replaceAll(initial[i]+"frac14;", temporaryChar[i]+" ein viertel ")
-                    .replaceAll(initial[i]+"#188;", temporaryChar[i]+" ein viertel ")
-                    .replaceAll(initial[i]+"frac34;", temporaryChar[i]+" drei viertel ")
-                    .replaceAll(initial[i]+"#190;", temporaryChar[i]+" drei viertel ")
-                    .replaceAll(initial[i]+"frac12;", temporaryChar[i]+"½")
-                    .replaceAll(initial[i]+"#189;", temporaryChar[i]+"½")
-                    .replaceAll(initial[i]+"times;", temporaryChar[i]+"×")
-                    .replaceAll(initial[i]+"#215;", temporaryChar[i]+"×")
-                    .replaceAll(initial[i]+"divide;", temporaryChar[i]+"÷")
-                    .replaceAll(initial[i]+"#247;", temporaryChar[i]+"÷")
-                    .replaceAll(initial[i]+"sect;", temporaryChar[i]+"§")
-                    .replaceAll(initial[i]+"#167;", temporaryChar[i]+"§")
-                    .replaceAll(initial[i]+"dagger;", temporaryChar[i]+"†")
-                    .replaceAll(initial[i]+"#134;", temporaryChar[i]+"†")
-                    .replaceAll(initial[i]+"[Aa]uml;", temporaryChar[i]+"ä")
-                    .replaceAll(initial[i]+"#228;", temporaryChar[i]+"ä")
-                    .replaceAll(initial[i]+"#196;", temporaryChar[i]+"ä")
-                    .replaceAll(initial[i]+"[Oo]uml;", temporaryChar[i]+"ö")
-                    .replaceAll(initial[i]+"#246;", temporaryChar[i]+"ö")
-                    .replaceAll(initial[i]+"#214;", temporaryChar[i]+"ö")
-                    .replaceAll(initial[i]+"[Uu]uml;", temporaryChar[i]+"ü")
-                    .replaceAll(initial[i]+"#252;", temporaryChar[i]+"ü")
-                    .replaceAll(initial[i]+"#220;", temporaryChar[i]+"ü")
-                    .replaceAll(initial[i]+"szlig;", temporaryChar[i]+"ß")
-                    .replaceAll(initial[i]+"#223;", temporaryChar[i]+"ß")
-                    .replaceAll(initial[i]+"[Cc]cedil;", temporaryChar[i]+"ç")
-                    .replaceAll(initial[i]+"#231;", temporaryChar[i]+"ç")
-                    .replaceAll(initial[i]+"thorn;", temporaryChar[i]+"þ")
-                    .replaceAll(initial[i]+"THORN;", temporaryChar[i]+"þ")
-                    .replaceAll(initial[i]+"#254;", temporaryChar[i]+"þ")
-                    .replaceAll(initial[i]+"#222;", temporaryChar[i]+"þ")
-                    .replaceAll(initial[i]+"eth;", temporaryChar[i]+"ð")
-                    .replaceAll(initial[i]+"#240;", temporaryChar[i]+"ð")
-                    .replaceAll(initial[i]+"[Aa]ring;", temporaryChar[i]+"å")
-                    .replaceAll(initial[i]+"#229;", temporaryChar[i]+"å")
-                    .replaceAll(initial[i]+"#197;", temporaryChar[i]+"å")
-                    .replaceAll(initial[i]+"[Oo]slash;", temporaryChar[i]+"ø")
-                    .replaceAll(initial[i]+"#248;", temporaryChar[i]+"ø")
-                    .replaceAll(initial[i]+"#216;", temporaryChar[i]+"ø")
-                    .replaceAll(initial[i]+"[Yy]acute;", temporaryChar[i]+"ý")
-                    .replaceAll(initial[i]+"#253;", temporaryChar[i]+"ý")
-                    .replaceAll(initial[i]+"#45;", temporaryChar[i]+"-")
-                    .replaceAll(initial[i]+"#173;", temporaryChar[i]+"-")
-                    .replaceAll(initial[i]+"#448;", temporaryChar[i]+" ")
-                    .replaceAll(initial[i]+"#8211;", temporaryChar[i]+" ");
+        final String lowerCaseText = text.toLowerCase();
+        final int start = lowerCaseText.indexOf("charset=");
+        if (start < 0) {
+            return null;
+        }
+        int position = start+8;
+        while (position < text.length() && (text.charAt(position) == '"' || text.charAt(position) == '\'')) {
+            position++;
+        }
+        final int nameStart = position;
+        while (position < text.length() && (Character.isLetterOrDigit(text.charAt(position)) || "-_.:".indexOf(text.charAt(position)) >= 0)) {
+            position++;
+        }
+        try {
+            return Charset.forName(text.substring(nameStart, position));
+        } catch (IllegalArgumentException iae) { // an illegal or unsupported charset
+            return null;
         }
-        tempFileContent = tempFileContent.replaceAll("&#.*?;", "");
-        return tempFileContent.trim();
     }
 }
@@ -0,0 +1,113 @@
+// WebsiteCrawler.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/* A tool to download many websites at the same time (using "java.net.http.HttpClient"). Every
+ * website is downloaded with a single request; its text is extracted while it is being downloaded
+ * and is passed on for tokenization as soon as the response arrives. At most "maximumOfRequests"
+ * websites are downloaded (and tokenized) at the same time - "fetch()" waits until one of them is
+ * finished before it sends another request.
+ * The requests are sent with "sendAsync()" and limited by a "Semaphore" instead of running every
+ * download in a virtual thread of its own, since the program is built for Java 11 (which has no
+ * virtual threads); waiting for a response doesn't block any thread this way either. */
+final class WebsiteCrawler {
+
+    private final static Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final Semaphore requests;
+    private final Executor executor;
+
+    WebsiteCrawler(final int maximumOfRequests, final Executor executor) {
+    // "executor" runs the tokenization of the websites.
+        client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(TIMEOUT).build();
+        requests = new Semaphore(maximumOfRequests);
+        this.executor = executor;
+    }
+
+    final CompletableFuture<Boolean> fetch(final URI uri, final Function<Reader, Boolean> tokenization) {
+    /* Sends a request to "uri" and passes the text of the website to "tokenization" as soon as the
+     * response arrives; the returned future holds the result of "tokenization" (or "false" if the
+     * website couldn't be loaded). */
+        try {
+            requests.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(false);
+        }
+        final HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(uri).header("User-Agent", Webloader.USER_AGENT).timeout(TIMEOUT).GET().build();
+        } catch (IllegalArgumentException iae) { // e.g. neither "http" nor "https"
+            requests.release();
+            System.err.println("The URL (\""+uri+"\") couldn't be opened: "+iae.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApplyAsync(response -> tokenize(uri, response, tokenization), executor)
+                .exceptionally(throwable -> {
+                    final Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null)? throwable.getCause() : throwable;
+                    System.err.println("The URL (\""+uri+"\") couldn't be opened ("+cause+"). Check if it is spelled correctly and if you are connected to the internet!");
+                    return false;
+                })
+                .whenComplete((result, throwable) -> requests.release());
+    }
+
+    private static final Boolean tokenize(final URI uri, final HttpResponse<InputStream> response, final Function<Reader, Boolean> tokenization) {
+    // Passes the text of the website to "tokenization" (as long as the request was successful).
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            System.err.println("The URL (\""+uri+"\") couldn't be loaded (HTTP status "+Integer.toString(response.statusCode())+").");
+            try {
+                response.body().close();
+            } catch (IOException ioe) {
+                ioe.printStackTrace();
+            }
+            return false;
+        }
+        final InputStream is = new BufferedInputStream(response.body());
+        try {
+            final String contentType = response.headers().firstValue("Content-Type").orElse(null);
+            System.out.println("Working on a website (\""+uri+"\")...");
+            return tokenization.apply(new HtmlTextReader(new BufferedReader(new InputStreamReader(is, Webloader.detectCharset(contentType, is)))));
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+            try {
+                is.close();
+            } catch (IOException closingException) {
+                closingException.printStackTrace();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+// AbbreviationDictionaryTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Compares the stage "abbreviations" with the old "workOnAbbreviations()".
+class AbbreviationDictionaryTest {
+
+    private final static String[] PIECES = {" ", " ", " ", "usw.", "u.s.w.", "u. s. w.", "z.b.", "z. b.", "zb.", "z.", "b.", "d.h.", "d. h.", "i.d.r.", "i. d.r.", "i.d. r.", "u.v.m.", "g.d.w.", "g. d. w.", "s.o.", "s. u.", "et al.", "bzw.", "ca.", "dr.", "prof.", "nr.", "st.", "v.chr.", "v. chr.", "n.chr.", "o.ä.", "u. ä.", "oä.", "etc.", "str. ", "straße", "km/h", "kilometer/h", "km", "a", "und", "ä", ".", "3", "12", "/"};
+
+    @Test
+    void keepsTheOutputOfTheOldRules() {
+        final Random random = new Random(3);
+        for (int i=0; i<3000; i++) {
+            final StringBuilder sb = new StringBuilder(" ");
+            final int pieces = 1+random.nextInt(12);
+            for (int j=0; j<pieces; j++) {
+                sb.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            final String text = sb.append(' ').toString();
+            assertEquals(BaselineRules.abbreviations(text, false), abbreviations(text, false), text);
+            assertEquals(BaselineRules.abbreviations(text, true), abbreviations(text, true), text);
+        }
+    }
+
+    @Test
+    void protectsOrClarifiesTheAbbreviations() {
+        assertEquals(" z|ßß|b|ßß| usw|ßß| usw|ßß| str|ßß| 5 kmh  ", abbreviations(" z. b. usw. usw. str. 5 km/h ", false));
+        assertEquals(" zum beispiel usw|ßß| straße 5 kilometer pro stunde  ", abbreviations(" z.b. usw. str. 5 kilometer/h ", true));
+    }
+
+    private static final String abbreviations(final String text, final boolean extendedTokenization) {
+        final TokenizerBatch batch = new TokenizerBatch(text);
+        TokenizerPipeline.of(extendedTokenization).getStage(TokenizerPipeline.ABBREVIATIONS).apply(batch);
+        return batch.getLines();
+    }
+}
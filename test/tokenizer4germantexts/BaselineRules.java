@@ -0,0 +1,572 @@
+// BaselineRules.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/* The "replaceAll()" cascades of the first version of "Tokenizer", which the single-pass tools of
+ * this program replace. They are only kept for the tests, which compare the old and the new output;
+ * the patterns are compiled once and cached, and the rules for times and years are only matched if
+ * the text contains their literal part, so the old rules can be run on many random texts. */
+final class BaselineRules {
+
+    private final static String[] UMLAUTE = {"ä", "ö", "ü"};
+    private final static String[] FIRST_PART_OF_NUMERAL = {"ein", "zwei", "drei", "vier", "fünf", "sechs", "sieben", "acht", "neun"};
+    private final static String[] MONTHS = {"januar ", "februar ", "märz ", "april ", "mai ", "juni ", "juli ", "august ", "september ", "oktober ", "november ", "dezember "};
+    private final static String[][] NUMBER_MONTHS = {{"januar ", "jan ", "jan\\."}, {"februar ", "feb ", "feb\\."}, {"märz ", "mär ", "mär\\.", "mar ", "mar\\."}, {"april ", "apr ", "apr\\."}, {"mai ", "may "}, {"juni ", "jun ", "jun\\."}, {"juli ", "jul ", "jul\\."}, {"august ", "aug ", "aug\\."}, {"september ", "sep ", "sep\\."}, {"oktober ", "okt ", "okt\\.", "oct ", "oct\\."}, {"november ", "nov", "nov\\."}, {"dezember ", "dez ", "dez\\.", "dec ", "dec\\."}}; // "oct." and "dec." with a literal dot (see "NumeralConverter.MONTHS")
+    private final static String[] YEAR_MARKERS = {"jahr ", "jahre ", "jahren ", "jahres ", "jahrs ", "frühjahr ", "frühling ", "sommer ", "herbst ", "winter ", "ostern ", "pfingsten ", "weihnachten ", "semester ", "geboren ", "gestorben "};
+    private final static String[] CENTURIES = {"einhundert", "zweihundert", "dreihundert", "vierhundert", "fünfhundert", "sechshundert", "siebenhundert", "achthundert", "neunhundert", "eintausend", "elfhundert", "zwölfhundert", "dreizehnhundert", "vierzehnhundert", "fünfzehnhundert", "sechzehnhundert", "siebzehnhundert", "achtzehnhundert", "neunzehnhundert", "zweitausend"};
+    private final static String DASHES = "[-––-—­]";
+    private final static Map<String, Pattern> PATTERNS = new HashMap<>();
+
+    private BaselineRules() {
+    }
+
+    private static final String replaceAll(final String text, final String regex, final String replacement) {
+        Pattern pattern;
+        synchronized (PATTERNS) {
+            pattern = PATTERNS.get(regex);
+            if (pattern == null) {
+                pattern = Pattern.compile(regex);
+                PATTERNS.put(regex, pattern);
+            }
+        }
+        return pattern.matcher(text).replaceAll(replacement);
+    }
+
+    private static final String replaceAll(final String text, final String regex, final String replacement, final String literal) {
+    // Like "replaceAll()", but the "regex" can't match without the "literal" (which saves time).
+        return text.contains(literal)? replaceAll(text, regex, replacement) : text;
+    }
+
+    static final String digits(String lines, final boolean extendedTokenization) {
+    // The rules for digits at the beginning of "tokenize()" (see "PatternRegistry.EXTENDED_DIGITS").
+        if (extendedTokenization) {
+            for (int i=0; i<10; i++) {
+                for (int j=0; j<10; j++) {
+                    lines = replaceAll(lines, i+" "+j, i+"|ßß|"+j);
+                    lines = replaceAll(lines, i+":"+j, i+" XßßX "+j);
+                    lines = replaceAll(lines, i+"-"+j, i+" YßßY "+j);
+                }
+                lines = replaceAll(lines, i+"\\. jh(d(t)?)?\\.", i+". jahrhundert ");
+                lines = replaceAll(lines, "\\."+i, "|ßß|"+i);
+                lines = replaceAll(lines, i+"\\.", i+"|ßß|");
+                lines = replaceAll(lines, ","+i, "|ßß|"+i);
+                lines = replaceAll(lines, i+"( )?km", i+" kilometer");
+                lines = replaceAll(lines, i+"( )?kg", i+" kilogramm");
+                lines = replaceAll(lines, " -"+i, " minus "+i);
+            }
+        } else {
+            for (int i=0; i<10; i++) {
+                lines = replaceAll(lines, i+"km", i+" km");
+                lines = replaceAll(lines, i+"kg", i+" kg");
+                lines = replaceAll(lines, " -"+i, " YßßY"+i);
+                lines = replaceAll(lines, i+"\\.", i+"|ßß|");
+            }
+        }
+        return lines;
+    }
+
+    static final String separators(String lines) {
+    // The rules between "workOnHyphensAndDashes()" and the symbols.
+        for (String umlaut : UMLAUTE) {
+            lines = replaceAll(lines, " "+umlaut+"\\.", " "+umlaut+"|ßß|");
+            lines = replaceAll(lines, "\\.( )?"+umlaut+"\\.", "|ßß|"+umlaut+"|ßß|");
+        }
+        lines = replaceAll(lines, "[,/\\.]", " ");
+        lines = replaceAll(lines, "[‘’'´`]", "");
+        lines = replaceAll(lines, "\\|ßß\\|", ".");
+        lines = replaceAll(lines, "= = = = =", " ");
+        lines = replaceAll(lines, "= = = =", " ");
+        lines = replaceAll(lines, "= = =", " ");
+        lines = replaceAll(lines, "= =", " ");
+        return replaceAll(lines, "===+", " ");
+    }
+
+    static final String symbols(String lines, final boolean extendedTokenization) {
+    // The replacement of characters like '&' or '°'.
+        final String[] variousCharsToReplace = {"\\$", "\\+", "§", "€", "£", "¥", "%", "&", "×", "÷", "²", "†"};
+        if (extendedTokenization) {
+            final String[] replacements = {" dollar ", " plus ", " paragraph ", " euro ", " pfund ", " yen ", " prozent ", " und ", " mal ", " geteilt durch ", " hoch zwei ", " gestorben "};
+            for (int i=0; i<variousCharsToReplace.length; i++) {
+                lines = replaceAll(lines, variousCharsToReplace[i], replacements[i]);
+            }
+            lines = replaceAll(lines, "( )?°c ", " grad celsius ");
+            lines = replaceAll(lines, "( )?°f ", " grad fahrenheit ");
+            lines = replaceAll(lines, "°", " grad ");
+            lines = replaceAll(lines, "\\|", " ");
+            lines = replaceAll(lines, "=(=)?", " ist ");
+            return replaceAll(lines, "\\s+", " ");
+        }
+        for (int i=2; i<variousCharsToReplace.length; i++) {
+            lines = replaceAll(lines, variousCharsToReplace[i], " "+variousCharsToReplace[i]+" ");
+        }
+        lines = replaceAll(lines, "\\$", " \\$ ");
+        lines = replaceAll(lines, "\\+", " + ");
+        lines = replaceAll(lines, "=(=)?", " = ");
+        lines = replaceAll(lines, "°c ", " °c ");
+        return replaceAll(lines, "°f ", " °f ");
+    }
+
+    static final String hyphensAndDashes(String lines) {
+    // The old "workOnHyphensAndDashes()" (see "HyphenClassifier").
+        for (char i='a'; i<='z'; i++) {
+            lines = replaceAll(lines, " "+i+"\\.", " "+i+"|ßß|");
+            lines = replaceAll(lines, "\\."+i+"\\.", "|ßß|"+i+"|ßß|");
+            lines = replaceAll(lines, i+DASHES+" &", i+"YßßY &");
+            lines = replaceAll(lines, i+DASHES+" und", i+"YßßY und");
+            lines = replaceAll(lines, i+DASHES+" oder", i+"YßßY oder");
+            lines = replaceAll(lines, i+DASHES+", ", i+"YßßY ");
+            for (char j='a'; j<='z'; j++) {
+                lines = replaceAll(lines, i+DASHES+j, i+"YßßY"+j);
+            }
+        }
+        for (int i=0; i<10; i++) {
+            for (char suffix : "emnrst".toCharArray()) {
+                lines = replaceAll(lines, i+DASHES+suffix, i+"YßßY"+suffix);
+            }
+            for (int j=0; j<10; j++) {
+                lines = replaceAll(lines, i+"( )?"+DASHES+"( )?"+j, i+" YßßY "+j);
+            }
+        }
+        for (String umlaut : UMLAUTE) {
+            lines = replaceAll(lines, umlaut+DASHES+" &", umlaut+"YßßY &");
+            lines = replaceAll(lines, umlaut+DASHES+" und", umlaut+"YßßY und");
+            lines = replaceAll(lines, umlaut+DASHES+" oder", umlaut+"YßßY oder");
+            lines = replaceAll(lines, umlaut+DASHES+", ", umlaut+"YßßY ");
+            for (String otherUmlaut : UMLAUTE) {
+                lines = replaceAll(lines, umlaut+DASHES+otherUmlaut, umlaut+"YßßY"+otherUmlaut);
+            }
+        }
+        return replaceAll(lines, DASHES, " ");
+    }
+
+    static final String timeFormats(String lines) {
+    // The old "replaceTimeFormats()" (see "TimeFormatRecognizer").
+        final String[] clockStrings = {"( )?uhr ", "( )?h ", "( )?ce(s)?t ", "( )?me(s)?z "};
+        for (int hour=0; hour<24; hour++) {
+            for (int minutes=0; minutes<60; minutes++) {
+                final String mm = (minutes < 10)? "0"+minutes : Integer.toString(minutes);
+                for (String clockString : clockStrings) {
+                    final String replacement = " "+hour+" uhr "+mm+" ";
+                    lines = replaceAll(lines, "[ \\.]"+hour+"\\."+mm+clockString, replacement, hour+"."+mm);
+                    lines = replaceAll(lines, "[ \\.]"+hour+" XßßX "+mm+clockString, replacement, hour+" XßßX "+mm);
+                    if (hour < 10) {
+                        lines = replaceAll(lines, "[ \\.]0"+hour+"\\."+mm+clockString, replacement, "0"+hour+"."+mm);
+                        lines = replaceAll(lines, "[ \\.]0"+hour+" XßßX "+mm+clockString, replacement, "0"+hour+" XßßX "+mm);
+                    }
+                }
+            }
+        }
+        for (int hour0=0; hour0<10; hour0++) {
+            for (int hour1=0; hour1<24; hour1++) {
+                for (int minutes=0; minutes<60; minutes++) {
+                    final String mm = (minutes < 10)? "0"+minutes : Integer.toString(minutes);
+                    final String replacement = hour0+" uhr "+mm+" bis "+hour1+" uhr ";
+                    lines = replaceAll(lines, hour0+"\\."+mm+" YßßY "+hour1+" uhr ", replacement, hour0+"."+mm+" YßßY "+hour1+" uhr ");
+                    lines = replaceAll(lines, hour0+" XßßX "+mm+" YßßY "+hour1+" uhr ", replacement, hour0+" XßßX "+mm+" YßßY "+hour1+" uhr ");
+                }
+            }
+        }
+        return lines;
+    }
+
+    static final String abbreviations(String lines, final boolean extendedTokenization) {
+    /* The old "workOnAbbreviations()" (see "AbbreviationDictionary"); a repeated abbreviation
+     * ("usw. usw.") is protected twice, as by the dictionary (see "replaceRepeatedly()"). The
+     * speed is replaced first, since the dictionary finds all abbreviations in one pass after it
+     * (so "km/hs. u." protects the "s. u." now, which the old rules had already passed by). */
+        lines = replaceAll(lines, extendedTokenization? " kilometer/h" : " km/h", extendedTokenization? " kilometer pro stunde " : " kmh ");
+        lines = replaceRepeatedly(lines, " bsp\\. ", " bsp|ßß| ");
+        lines = replaceRepeatedly(lines, " et al\\. ", " et al|ßß| ");
+        lines = replaceRepeatedly(lines, " etw\\. ", " etw|ßß| ");
+        lines = replaceRepeatedly(lines, " evtl\\. ", " evtl|ßß| ");
+        lines = replaceRepeatedly(lines, " ff\\. ", " ff|ßß| ");
+        lines = replaceRepeatedly(lines, " gdw\\. ", " gdw|ßß| ");
+        lines = replaceRepeatedly(lines, " hg\\. ", " hg|ßß| ");
+        lines = replaceRepeatedly(lines, " hrsg\\. ", " hrsg|ßß| ");
+        lines = replaceRepeatedly(lines, " idr\\. ", " idr|ßß| ");
+        lines = replaceRepeatedly(lines, " jmd\\. ", " jmd|ßß| ");
+        lines = replaceRepeatedly(lines, " ka\\. ", " ka|ßß| ");
+        lines = replaceRepeatedly(lines, " oä\\. ", " oä|ßß| ");
+        lines = replaceRepeatedly(lines, " so\\. ", " so|ßß| ");
+        lines = replaceRepeatedly(lines, " su\\. ", " su|ßß| ");
+        lines = replaceRepeatedly(lines, " ua\\. ", " ua|ßß| ");
+        lines = replaceRepeatedly(lines, " uä\\. ", " uä|ßß| ");
+        lines = replaceRepeatedly(lines, " usw\\. ", " usw|ßß| ");
+        lines = replaceRepeatedly(lines, " uu\\. ", " uu|ßß| ");
+        lines = replaceRepeatedly(lines, " uvm\\. ", " uvm|ßß| ");
+        lines = replaceRepeatedly(lines, " va\\. ", " va|ßß| ");
+        lines = replaceRepeatedly(lines, " zt\\. ", " zt|ßß| ");
+        final String[][] abbreviationsOld0 = {{" f\\.f\\. ", " k\\.a\\. ", " s\\.o\\. ", " s\\.u\\. ", " u\\.a\\. ", " u\\.u\\. ", " v\\.a\\. ", " z\\.z\\. ", " g\\.d\\.w\\. ", " u\\.s\\.w\\. "}, {" f\\. f\\. ", " k\\. a\\. ", " s\\. o\\. ", " s\\. u\\. ", " u\\. a\\. ", " u\\. u\\. ", " v\\. a\\. ", " z\\. z\\. ", " g\\. d\\. w\\. ", " u\\. s\\. w\\. "}};
+        final String[] abbreviationsNew0 = {" f|ßß|f|ßß| ", " k|ßß|a|ßß| ", " s|ßß|o|ßß| ", " s|ßß|u|ßß| ", " u|ßß|a|ßß| ", " u|ßß|u|ßß| ", " v|ßß|a|ßß| ", " z|ßß|z|ßß| ", " g|ßß|d|ßß|w|ßß| ", " u|ßß|s|ßß|w|ßß| "};
+        for (int i=0; i<abbreviationsOld0.length; i++) {
+            for (int j=0; j<abbreviationsNew0.length; j++) {
+                lines = replaceRepeatedly(lines, abbreviationsOld0[i][j], abbreviationsNew0[j]);
+            }
+        }
+        final String[] abbreviationsOld1 = {" d\\.( )?h\\. ", " n\\.( )?chr\\. ", " o\\.( )?ä\\. ", " u\\.( )?ä\\. ", " v\\.( )?chr\\. ", " z\\.( )?b\\. ", " z\\.( )?hd\\. ", " z\\.( )?t\\. ", " i\\.( )?d\\.( )?r\\. ", " u\\.( )?v\\.( )?m\\. ", " abschn\\. ", " aufl\\. ", " bspw\\. ", " bzgl\\. ", " bzw\\. ", " ca\\. ", " dh\\. ", " dr\\. ", " etc\\. ", " ggf\\. ", " grds\\. ", " inkl\\. ", " insb\\. ", " nchr\\. ", " nr\\. ", " prof\\. ", " st\\. ", " vchr\\. ", " vgl\\. ", " zb\\. ", " zzgl\\. "};
+        if (extendedTokenization) {
+            final String[] abbreviationsNew1 = {" das heißt ", " nach christus ", " oder ähnl|ßß| ", " und ähnl|ßß| ", " vor christus ", " zum beispiel ", " zu händen ", " zum teil ", " in der regel ", " und viel|ßß| mehr ", " abschnitt ", " auflage ", " beispielsweise ", " bezüglich ", " beziehungsweise ", " circa ", " das heißt ", " doktor ", " et cetera ", " gegebenenfalls ", " grundsätzlich ", " inklusive ", " insbesondere ", " nach christus ", " nummer ", " professor ", " sankt ", " vor christus ", " vergleiche ", " zum beispiel ", " zuzüglich "};
+            for (int i=0; i<abbreviationsOld1.length; i++) {
+                lines = replaceRepeatedly(lines, abbreviationsOld1[i], abbreviationsNew1[i]);
+            }
+            for (int i=1; i<10; i++) {
+                lines = replaceRepeatedly(lines, "str\\. "+Integer.toString(i), "straße "+Integer.toString(i));
+            }
+        } else {
+            final String[] abbreviationsNew1 = {" d|ßß|h|ßß| ", " n|ßß|chr|ßß| ", " o|ßß|ä|ßß| ", " u|ßß|ä|ßß| ", " v|ßß|chr|ßß| ", " z|ßß|b|ßß| ", " z|ßß|hd|ßß| ", " z|ßß|t|ßß| ", " i|ßß|d|ßß|r|ßß| ", " u|ßß|v|ßß|m|ßß| ", " abschn|ßß| ", " aufl|ßß| ", " bspw|ßß| ", " bzgl|ßß| ", " bzw|ßß| ", " ca|ßß| ", " d|ßß|h|ßß| ", " dr|ßß| ", " etc|ßß| ", " ggf|ßß| ", " grds|ßß| ", " inkl|ßß| ", " insb|ßß| ", " n|ßß|chr|ßß| ", " nr|ßß| ", " prof|ßß| ", " st|ßß| ", " v|ßß|chr|ßß| ", " vgl|ßß| ", " z|ßß|b|ßß| ", " zzgl|ßß| "};
+            for (int i=0; i<abbreviationsOld1.length; i++) {
+                lines = replaceRepeatedly(lines, abbreviationsOld1[i], abbreviationsNew1[i]);
+            }
+            for (int i=1; i<10; i++) {
+                lines = replaceRepeatedly(lines, "str\\. "+Integer.toString(i), "str|ßß| "+Integer.toString(i));
+            }
+        }
+        return lines;
+    }
+
+    static final String numbers(String lines) {
+    /* The old "replaceNumbers()" (see "NumeralConverter.replaceNumbers()") without the three bugs
+     * the single scan fixed: "13te" to "19te" lost the space in front of them, "13mal" to "19mal"
+     * became "dreimal" etc. and a number directly behind another one wasn't replaced (see
+     * "replaceRepeatedly()"). */
+        if (!lines.matches("(?s).*[0-9].*")) {
+            return lines;
+        }
+        lines = replaceRepeatedly(lines, " 0+ ", " null ");
+        lines = replaceRepeatedly(lines, " 0+YßßY", " null");
+        lines = replaceRepeatedly(lines, " 0+e", " nulle");
+        lines = replaceRepeatedly(lines, " 0+te", " nullte");
+        lines = replaceRepeatedly(lines, " 0+mal ", " nullmal ");
+        lines = replaceRepeatedly(lines, " 0*1 ", " eins ");
+        lines = replaceRepeatedly(lines, " 0*1mal", " einmal");
+        lines = replaceRepeatedly(lines, " 0*1x i", " einmal i");
+        lines = replaceRepeatedly(lines, " 0*1x am ", " einmal am ");
+        lines = replaceRepeatedly(lines, " 0*1x pro ", " einmal pro ");
+        lines = replaceRepeatedly(lines, " 11 ", " elf ");
+        lines = replaceRepeatedly(lines, " 11YßßY", " elf");
+        lines = replaceRepeatedly(lines, " 11e", " elfe");
+        lines = replaceRepeatedly(lines, " 11te", " elfte");
+        lines = replaceRepeatedly(lines, " 11mal", " elfmal");
+        lines = replaceRepeatedly(lines, " 11x i", " elfmal i");
+        lines = replaceRepeatedly(lines, " 11x am ", " elfmal am ");
+        lines = replaceRepeatedly(lines, " 11x pro ", " elfmal pro ");
+        lines = replaceRepeatedly(lines, " 12 ", " zwölf ");
+        lines = replaceRepeatedly(lines, " 12YßßY", " zwölf");
+        lines = replaceRepeatedly(lines, " 12e", " zwölfe");
+        lines = replaceRepeatedly(lines, " 12te", " zwölfte");
+        lines = replaceRepeatedly(lines, " 12mal", " zwölfmal");
+        lines = replaceRepeatedly(lines, " 12x i", " zwölfmal i");
+        lines = replaceRepeatedly(lines, " 12x am ", " zwölfmal am ");
+        lines = replaceRepeatedly(lines, " 12x pro ", " zwölfmal pro ");
+        lines = replaceRepeatedly(lines, " 1(\\.)?000(\\.)?000 ", " eine Million ");
+        final String[] decades = {"zehn", "zwanzig", "dreißig", "vierzig", "fünfzig", "sechzig", "siebzig", "achtzig", "neunzig"};
+        final String[] ordinalNumbers = {"erst", "zweit", "dritt", "viert", "fünft", "sechst", "siebt", "acht", "neunt"};
+        final String[][] preChars = {{" am ", " an der ", " an dieser ", " den ", " des ", "einen ", "em ", " in der ", " in dieser ", "nes ", " seit ", " vom ", " zum "}, {" das ", " der ", " die ", " dieser ", " dieses ", " jede ", " jeder ", " jedes "}};
+        final String[] caseMarkers = {"n ", " "};
+        for (int i=0; i<NUMBER_MONTHS.length; i++) {
+            if (i < caseMarkers.length) {
+                for (int j=0; j<preChars[i].length; j++) {
+                    lines = replaceRepeatedly(lines, preChars[i][j]+"11\\. ", preChars[i][j]+"elfte"+caseMarkers[i]);
+                    lines = replaceRepeatedly(lines, preChars[i][j]+"12\\. ", preChars[i][j]+"zwölfte"+caseMarkers[i]);
+                }
+            }
+            for (int j=0; j<NUMBER_MONTHS[i].length; j++) {
+                lines = replaceRepeatedly(lines, " 11\\. "+NUMBER_MONTHS[i][j], " elfter "+NUMBER_MONTHS[i][0]);
+                lines = replaceRepeatedly(lines, " 12\\. "+NUMBER_MONTHS[i][j], " zwölfter "+NUMBER_MONTHS[i][0]);
+            }
+        }
+        for (int i=1; i<100; i++) {
+            if (!lines.contains(Integer.toString(i))) { // all rules of "i" contain its digits
+                continue;
+            }
+            if (i < 10) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+"0*"+Integer.toString(i)+"\\. ", preChars[j][k]+ordinalNumbers[i-1]+"e"+caseMarkers[j]);
+                        if (i != 1) {
+                            lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"0\\. ", preChars[j][k]+decades[i-1]+"ste"+caseMarkers[j]);
+                        } else {
+                            lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"0\\. ", preChars[j][k]+decades[i-1]+"te"+caseMarkers[j]);
+                        }
+                    }
+                }
+                for (int j=0; j<NUMBER_MONTHS.length; j++) {
+                    for (int k=0; k<NUMBER_MONTHS[j].length; k++) {
+                        lines = replaceRepeatedly(lines, " (0)?"+Integer.toString(i)+"\\. "+NUMBER_MONTHS[j][k], " "+ordinalNumbers[i-1]+"er "+NUMBER_MONTHS[j][0]);
+                        if (i == 1) {
+                            lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0\\. "+NUMBER_MONTHS[j][k], " "+decades[i-1]+"ter "+NUMBER_MONTHS[j][0]);
+                        } else if (i == 2 || i == 3){
+                            lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0\\. "+NUMBER_MONTHS[j][k], " "+decades[i-1]+"ster "+NUMBER_MONTHS[j][0]);
+                        }
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0 ", " "+decades[i-1]+" ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0te", " "+decades[i-1]+"te");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0e", " "+decades[i-1]+"e");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0YßßYt", " "+decades[i-1]+"t");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0mal", " "+decades[i-1]+"mal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0x i", " "+decades[i-1]+"mal i");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0x am ", " "+decades[i-1]+"mal am ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0x pro ", " "+decades[i-1]+"mal pro ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"00 ", " "+FIRST_PART_OF_NUMERAL[i-1]+"hundert ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"00st", " "+FIRST_PART_OF_NUMERAL[i-1]+"hundertst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"00e", " "+FIRST_PART_OF_NUMERAL[i-1]+"hunderte");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"00mal", " "+FIRST_PART_OF_NUMERAL[i-1]+"hundertmal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"00YßßY", " "+FIRST_PART_OF_NUMERAL[i-1]+"hundert");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(\\.)?000 ", " "+FIRST_PART_OF_NUMERAL[i-1]+"tausend ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(\\.)?000mal", " "+FIRST_PART_OF_NUMERAL[i-1]+"tausendmal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(\\.)?000st", " "+FIRST_PART_OF_NUMERAL[i-1]+"tausendst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(\\.)?000e", " "+FIRST_PART_OF_NUMERAL[i-1]+"tausende");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(\\.)?000YßßY", " "+FIRST_PART_OF_NUMERAL[i-1]+"tausend");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0(\\.)?000 ", " "+decades[i-1]+"tausend ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"00(\\.)?000 ", " "+FIRST_PART_OF_NUMERAL[i-1]+"hunderttausend ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0(\\.)?000(\\.)?000 ", " "+decades[i-1]+" Millionen ");
+            }
+            if (i > 1 && i < 10) {
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"0(YßßY)?st", " "+decades[i-1]+"st");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(\\.)?000(\\.)?000 ", " "+FIRST_PART_OF_NUMERAL[i-1]+" Millionen ");
+                lines = replaceRepeatedly(lines, " 0*"+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-1]+" ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"e", " "+FIRST_PART_OF_NUMERAL[i-1]+"e");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-1]+"mal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x i", " "+FIRST_PART_OF_NUMERAL[i-1]+"mal i");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x am ", " "+FIRST_PART_OF_NUMERAL[i-1]+"mal am ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x pro ", " "+FIRST_PART_OF_NUMERAL[i-1]+"mal pro ");
+                switch (i) {
+                case 3:
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?te", " dritte");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"YßßYe", " "+FIRST_PART_OF_NUMERAL[i-1]+"e");
+                    break;
+                case 7:
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?te", " siebte");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"YßßYe", " "+FIRST_PART_OF_NUMERAL[i-1]+"e");
+                    break;
+                default:
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"te", " "+FIRST_PART_OF_NUMERAL[i-1]+"te");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"YßßY", " "+FIRST_PART_OF_NUMERAL[i-1]);
+                }
+            } else if (i > 12 && i < 20) {
+                if (i != 17) {
+                    for (int j=0; j<caseMarkers.length; j++) {
+                        for (int k=0; k<preChars[j].length; k++) {
+                            lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-11]+"zehnte"+caseMarkers[j]);
+                        }
+                    }
+                    for (int j=0; j<NUMBER_MONTHS.length; j++) {
+                        for (int k=0; k<NUMBER_MONTHS[j].length; k++) {
+                            lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"\\. "+NUMBER_MONTHS[j][k], " "+FIRST_PART_OF_NUMERAL[i-11]+"zehnter "+NUMBER_MONTHS[j][0]);
+                        }
+                    }
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehn ");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"te", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehnte"); // the old rule lost the space
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"YßßY", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehn");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"e", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehne");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehnmal");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x i", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehnmal i");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x am ", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehnmal am ");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x pro ", " "+FIRST_PART_OF_NUMERAL[i-11]+"zehnmal pro ");
+                } else {
+                    for (int j=0; j<caseMarkers.length; j++) {
+                        for (int k=0; k<preChars[j].length; k++) {
+                            lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+"siebzehnte"+caseMarkers[j]);
+                        }
+                    }
+                    for (int j=0; j<NUMBER_MONTHS.length; j++) {
+                        for (int k=0; k<NUMBER_MONTHS[j].length; k++) {
+                            lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"\\. "+NUMBER_MONTHS[j][k], " siebzehnter "+NUMBER_MONTHS[j][0]);
+                        }
+                    }
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " siebzehn ");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"te", " siebzehnte");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"YßßY", " siebzehn");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"e", " siebzehne");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " siebzehnmal");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x i", " siebzehnmal i");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x am ", " siebzehnmal am ");
+                    lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x pro ", " siebzehnmal pro ");
+                }
+            } else if (i > 20 && i < 30) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigste"+caseMarkers[j]);
+                    }
+                }
+                for (int j=0; j<NUMBER_MONTHS.length; j++) {
+                    for (int k=0; k<NUMBER_MONTHS[j].length; k++) {
+                        lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"\\. "+NUMBER_MONTHS[j][k], " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigster "+NUMBER_MONTHS[j][0]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigmal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x i", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigmal i");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x am ", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigmal am ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x pro ", " "+FIRST_PART_OF_NUMERAL[i-21]+"undzwanzigmal pro ");
+            } else if (i > 30 && i < 40) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigste"+caseMarkers[j]);
+                    }
+                }
+                if (i < 32) { // "i < 32" because there are no months with more than 31 days
+                    for (int j=0; j<NUMBER_MONTHS.length; j++) {
+                        if (j != 1) { // "j != 1" because february (which corresponds to "month[1]") has never got more than 29 days
+                            for (int k=0; k<NUMBER_MONTHS[j].length; k++) {
+                            lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"\\. "+NUMBER_MONTHS[j][k], " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigster "+NUMBER_MONTHS[j][0]);
+                            }
+                        }
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigmal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x i", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigmal i");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x am ", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigmal am ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x pro ", " "+FIRST_PART_OF_NUMERAL[i-31]+"unddreißigmal pro ");
+            } else if (i > 40 && i < 50) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-41]+"undvierzigste"+caseMarkers[j]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzigmal");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x i", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzigmal i");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x am ", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzigmal am ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"x pro ", " "+FIRST_PART_OF_NUMERAL[i-41]+"undvierzigmal pro ");
+            } else if (i > 50 && i < 60) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-51]+"undfünfzigste"+caseMarkers[j]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-51]+"undfünfzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-51]+"undfünfzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-51]+"undfünfzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-51]+"undfünfzigmal");
+            } else if (i > 60 && i < 70) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-61]+"undsechzigste"+caseMarkers[j]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-61]+"undsechzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-61]+"undsechzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-61]+"undsechzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-61]+"undsechzigmal");
+            } else if (i > 70 && i < 80) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-71]+"undsiebzigste"+caseMarkers[j]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-71]+"undsiebzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-71]+"undsiebzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-71]+"undsiebzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-71]+"undsiebzigmal");
+            } else if (i > 80 && i < 90) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-81]+"undachtzigste"+caseMarkers[j]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-81]+"undachtzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-81]+"undachtzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-81]+"undachtzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-81]+"undachtzigmal");
+            } else if (i > 90) {
+                for (int j=0; j<caseMarkers.length; j++) {
+                    for (int k=0; k<preChars[j].length; k++) {
+                        lines = replaceRepeatedly(lines, preChars[j][k]+Integer.toString(i)+"\\. ", preChars[j][k]+FIRST_PART_OF_NUMERAL[i-91]+"undneunzigste"+caseMarkers[j]);
+                    }
+                }
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+" ", " "+FIRST_PART_OF_NUMERAL[i-91]+"undneunzig ");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?st", " "+FIRST_PART_OF_NUMERAL[i-91]+"undneunzigst");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"(YßßY)?e", " "+FIRST_PART_OF_NUMERAL[i-91]+"undneunzige");
+                lines = replaceRepeatedly(lines, " "+Integer.toString(i)+"mal", " "+FIRST_PART_OF_NUMERAL[i-91]+"undneunzigmal");
+            }
+        }
+        return lines;
+    }
+
+    private static final String replaceRepeatedly(String text, final String regex, final String replacement) {
+    /* Like "replaceAll()", but until the "regex" doesn't match anymore: a match of the old rules
+     * took the space in front of the next match with it (e.g. " 5 5 " became " fünf 5 "). */
+        String replaced = replaceAll(text, regex, replacement);
+        while (!replaced.equals(text)) {
+            text = replaced;
+            replaced = replaceAll(text, regex, replacement);
+        }
+        return replaced;
+    }
+
+    static final String years(String lines) {
+    // The old "detectYears()" (see "TextTokenizer.detectYears()").
+        for (int century=1; century<21; century++) {
+            for (int i=0; i<100; i++) {
+                final int year = i+century*100;
+                for (String yearMarker : YEAR_MARKERS) {
+                    lines = replaceYear(lines, yearMarker, year, century);
+                }
+                for (String month : MONTHS) {
+                    lines = replaceYear(lines, month, year, century);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static final String replaceYear(String lines, final String start, final int year, final int century) {
+        if (!lines.contains(start+year)) {
+            return lines;
+        }
+        lines = replaceAll(lines, start+year+"\\. ", start+year+" ");
+        final int rest = year-century*100;
+        final String words;
+        if (rest == 0) {
+            if (year <= 1099 || year == 2000) {
+                return lines;
+            }
+            words = "";
+        } else if (rest == 1) {
+            words = "eins";
+        } else if (rest < 10) {
+            words = FIRST_PART_OF_NUMERAL[rest-1];
+        } else if (rest == 10) {
+            words = "zehn";
+        } else if (rest == 11) {
+            words = "elf";
+        } else if (rest == 12) {
+            words = "zwölf";
+        } else if (rest == 17) {
+            words = "siebzehn";
+        } else if (rest < 20) {
+            words = FIRST_PART_OF_NUMERAL[rest-11]+"zehn";
+        } else {
+            final String[] decades = {"zwanzig", "dreißig", "vierzig", "fünfzig", "sechzig", "siebzig", "achtzig", "neunzig"};
+            words = ((rest%10 == 0)? "" : FIRST_PART_OF_NUMERAL[rest%10-1]+"und")+decades[rest/10-2];
+        }
+        return replaceAll(lines, start+year+" ", start+CENTURIES[century-1]+words+" ");
+    }
+}
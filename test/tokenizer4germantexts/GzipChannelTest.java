@@ -0,0 +1,120 @@
+// GzipChannelTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/* Compresses data in several gzip members (by one and by several threads) and reads it back as a
+ * whole, as "gunzip" and "Tokenizer.openFile()" do. */
+class GzipChannelTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesAGzipFileOfSeveralMembers() throws IOException {
+        final byte[] data = randomText(1000000);
+        for (int threads : new int[] {1, 4}) {
+            final Path file = directory.resolve("data"+Integer.toString(threads)+".gz");
+            try (GzipChannel channel = new GzipChannel(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE), 64*1024, threads)) {
+                for (int start=0; start<data.length; start+=10000) { // the chunks don't end where the writes do
+                    channel.write(ByteBuffer.wrap(data, start, Math.min(10000, data.length-start)));
+                }
+            }
+            assertTrue(countMembers(Files.readAllBytes(file)) > 10);
+            try (InputStream is = new GZIPInputStream(Files.newInputStream(file))) {
+                assertArrayEquals(data, readAll(is));
+            }
+        }
+    }
+
+    @Test
+    void writesAnEmptyMemberForAnEmptyFile() throws IOException {
+        final Path file = directory.resolve("empty.gz");
+        new GzipChannel(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE), 1024, 1).close();
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(0, readAll(is).length);
+        }
+    }
+
+    @Test
+    void tokenizerReadsWhatHasBeenCompressed() throws IOException {
+        final byte[] data = randomText(300000);
+        final Path file = directory.resolve("text.txt.gz");
+        try (GzipChannel channel = new GzipChannel(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE), 64*1024, 2)) {
+            channel.write(ByteBuffer.wrap(data));
+        }
+        final StringBuilder sb = new StringBuilder();
+        try (Reader reader = Tokenizer.openFile(file.toString(), StandardCharsets.UTF_8, TokenizerOptions.DEFAULT)) {
+            final char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                sb.append(buffer, 0, read);
+            }
+        }
+        assertEquals(new String(data, StandardCharsets.UTF_8), sb.toString());
+    }
+
+    private static final byte[] randomText(final int length) {
+        final Random random = new Random(7);
+        final String[] words = {"der", "die", "das", "straße", "größe", "über", "1975", "z.b.", "\n"};
+        final StringBuilder sb = new StringBuilder(length+16);
+        while (sb.length() < length) {
+            sb.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final int countMembers(final byte[] file) {
+    // Counts the gzip headers (a rough count, the magic bytes might appear in compressed data as well).
+        int members = 0;
+        for (int i=0; i+2<file.length; i++) {
+            if (file[i] == (byte)0x1f && file[i+1] == (byte)0x8b && file[i+2] == 8) {
+                members++;
+            }
+        }
+        return members;
+    }
+
+    private static final byte[] readAll(final InputStream is) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) >= 0) {
+            baos.write(buffer, 0, read);
+        }
+        return baos.toByteArray();
+    }
+}
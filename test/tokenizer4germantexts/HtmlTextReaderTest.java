@@ -0,0 +1,52 @@
+// HtmlTextReaderTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+// Extracts the text of short HTML documents.
+class HtmlTextReaderTest {
+
+    @Test
+    void deletesTagsScriptsAndComments() throws IOException {
+        assertEquals("\nTitel\n   Text  mit  a > b\n", extract("<p>Titel</p><!-- Kommentar --><script>var a = '<p>';</script> Text <b title=\"a > b\">mit</b> a > b<br>"));
+    }
+
+    @Test
+    void replacesEntitiesOnlyOnce() throws IOException {
+        assertEquals("Größe & mehr", extract("Gr&ouml;&szlig;e &amp; mehr"));
+        assertEquals("&amp; &nbsp; &lt;b&gt;", extract("&amp;amp; &amp;nbsp; &amp;lt;b&amp;gt;"));
+        assertEquals("ä ☺ &unknown;", extract("&#228; &#x263A; &unknown;"));
+    }
+
+    private static final String extract(final String html) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        try (HtmlTextReader reader = new HtmlTextReader(new StringReader(html))) {
+            final char[] buffer = new char[7];
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+                sb.append(buffer, 0, read);
+            }
+        }
+        return sb.toString();
+    }
+}
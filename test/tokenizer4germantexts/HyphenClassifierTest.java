@@ -0,0 +1,48 @@
+// HyphenClassifierTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Compares the single scan with the old loops of "workOnHyphensAndDashes()".
+class HyphenClassifierTest {
+
+    private final static String[] PIECES = {" ", " ", "a", "e", "m", "r", "s", "t", "z", "ä", "ö", "ü", "1", "3", "9", "-", "–", "—", "­", "-", ".", ",", ", ", " &", " und", " oder", "x.", " b."};
+
+    @Test
+    void keepsTheDashesOfTheOldLoops() {
+        final Random random = new Random(4);
+        for (int i=0; i<3000; i++) {
+            final StringBuilder sb = new StringBuilder(" ");
+            final int pieces = 1+random.nextInt(16);
+            for (int j=0; j<pieces; j++) {
+                sb.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            final String text = sb.append(' ').toString();
+            assertEquals(BaselineRules.hyphensAndDashes(text), HyphenClassifier.apply(text), text);
+        }
+    }
+
+    @Test
+    void keepsHyphensInWordsAndRanges() {
+        assertEquals(" eYßßYmailYßßYadresse 3YßßYmal 3 YßßY 5 einYßßY und ausgang ", HyphenClassifier.apply(" e-mail-adresse 3-mal 3 - 5 ein- und ausgang "));
+    }
+}
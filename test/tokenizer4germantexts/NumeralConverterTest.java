@@ -0,0 +1,55 @@
+// NumeralConverterTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Compares the single scan with the old loops of "replaceNumbers()".
+class NumeralConverterTest {
+
+    private final static String[] NUMBERS = {"0", "00", "1", "01", "3", "7", "9", "10", "11", "12", "13", "17", "19", "20", "21", "30", "31", "32", "45", "57", "68", "77", "89", "90", "99", "100", "300", "1000", "1.000", "5.000", "20000", "40.000", "700000", "1000000", "1.000.000", "3.000.000", "80000000", "123", "1.5"};
+    private final static String[] PIECES = {" ", " ", " ", ". ", ".", "te", "te ", "ten ", "e", "er ", "st", "mal", "mal ", "x ", "x i", "x am ", "x pro ", "i", "YßßY", "YßßYe", "YßßYst", "YßßYte", "YßßYt", " am ", " an der ", " in dieser ", " den ", " des ", "einen ", "em ", "nes ", " seit ", " vom ", " zum ", " das ", " der ", " dieser ", " jede ", " jedes ", "januar ", "jan ", "feb.", "februar ", "märz ", "mar.", "mai ", "juni ", "okt ", "oct.", "oct", "november ", "nov", "dezember ", "dec.", "uhr ", "pro ", "am "};
+
+    @Test
+    void keepsTheWordsOfTheOldLoops() {
+        final Random random = new Random(6);
+        final VerbalizationCache cache = new VerbalizationCache(64);
+        for (int i=0; i<1500; i++) {
+            final StringBuilder sb = new StringBuilder(" ");
+            final int pieces = 1+random.nextInt(10);
+            for (int j=0; j<pieces; j++) {
+                if (random.nextBoolean()) {
+                    sb.append(NUMBERS[random.nextInt(NUMBERS.length)]);
+                }
+                sb.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            final String text = sb.append(' ').toString();
+            final String expected = BaselineRules.numbers(text);
+            assertEquals(expected, NumeralConverter.replaceNumbers(text, null), text);
+            assertEquals(expected, NumeralConverter.replaceNumbers(text, cache), text);
+        }
+    }
+
+    @Test
+    void replacesOrdinalNumbersInFrontOfMonthsAndAfterArticles() {
+        assertEquals(" am dritten oktober der elfte mai zwölfmal pro jahr fünf YßßY zehn ", NumeralConverter.replaceNumbers(" am 3. oktober der 11. mai 12x pro jahr 5 YßßY 10 ", null));
+    }
+}
@@ -0,0 +1,76 @@
+// PatternRegistryTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/* Compares the precompiled rewrites with the "replaceAll()" cascades of the first version on random
+ * texts, with and without leaving out the rewrites whose characters aren't part of a text. */
+class PatternRegistryTest {
+
+    private final static String ALPHABET = "  abcdefghjkmrtxäöü0123456789.,:;-/|=°$+&%§'`";
+    private final static int TEXTS = 2000;
+
+    @Test
+    void digitsMatchTheOldRules() {
+        final Random random = new Random(1);
+        for (int i=0; i<TEXTS; i++) {
+            final String text = randomText(random);
+            assertEquals(BaselineRules.digits(text, true), apply(PatternRegistry.EXTENDED_DIGITS, text), text);
+            assertEquals(BaselineRules.digits(text, false), apply(PatternRegistry.STANDARD_DIGITS, text), text);
+        }
+    }
+
+    @Test
+    void separatorsMatchTheOldRules() {
+        final Random random = new Random(2);
+        for (int i=0; i<TEXTS; i++) {
+            final String text = randomText(random);
+            assertEquals(BaselineRules.separators(text), PatternRegistry.apply(PatternRegistry.SEPARATORS, PatternRegistry.apply(PatternRegistry.UMLAUT_DOTS, text)), text);
+        }
+    }
+
+    @Test
+    void symbolsMatchTheOldRules() {
+        final Random random = new Random(3);
+        for (int i=0; i<TEXTS; i++) {
+            final String text = randomText(random);
+            assertEquals(BaselineRules.symbols(text, true), apply(PatternRegistry.EXTENDED_SYMBOLS, text), text);
+            assertEquals(BaselineRules.symbols(text, false), apply(PatternRegistry.STANDARD_SYMBOLS, text), text);
+        }
+    }
+
+    private static final String apply(final PatternRegistry.Rewrite[] rewrites, final String text) {
+    // Applies the "rewrites" with and without the features of the "text" (both have to be the same).
+        final String result = PatternRegistry.apply(rewrites, text);
+        assertEquals(result, PatternRegistry.apply(rewrites, text, BatchFeatures.scan(text)), text);
+        return result;
+    }
+
+    static final String randomText(final Random random) {
+        final int length = 1+random.nextInt(40);
+        final StringBuilder sb = new StringBuilder(length+2).append(' ');
+        for (int i=0; i<length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.append(' ').toString();
+    }
+}
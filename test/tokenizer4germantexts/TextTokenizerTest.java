@@ -0,0 +1,66 @@
+// TextTokenizerTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Compares the words of years with the old "detectYears()" and checks the cache of the words.
+class TextTokenizerTest {
+
+    private final static String[] MARKERS = {"im jahr ", "sommer ", "geboren ", "im januar ", "dezember ", "um ", "am "};
+
+    @Test
+    void verbalizesEveryYearLikeTheOldLoops() {
+        final StringBuilder sb = new StringBuilder(" ");
+        for (int year=50; year<2200; year++) {
+            sb.append(MARKERS[year%MARKERS.length]).append(year).append((year%3 == 0)? ". " : " ");
+            if (year%100 == 99) {
+                final String text = sb.toString();
+                assertEquals(BaselineRules.years(text), TextTokenizer.detectYears(text, null), text);
+                sb.setLength(1);
+            }
+        }
+    }
+
+    @Test
+    void verbalizesRandomYearsLikeTheOldLoops() {
+        final Random random = new Random(6);
+        final String[] words = {"jahr", "jahre", "frühjahr", "winter", "mai", "märz", "im", "und", "1975", "2000", "812", "2100", "33", "1975."};
+        for (int i=0; i<30; i++) {
+            final StringBuilder sb = new StringBuilder(" ");
+            for (int j=0; j<12; j++) {
+                sb.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            final String text = sb.toString();
+            assertEquals(BaselineRules.years(text), TextTokenizer.detectYears(text, null), text);
+        }
+    }
+
+    @Test
+    void takesTheSameWordsFromTheCache() {
+        final VerbalizationCache cache = new VerbalizationCache(16);
+        final String text = " im jahr 1975 und im sommer 1975. am 3. mai 1990 ";
+        final String expected = new TextTokenizer(true).tokenizeText(text);
+        final TextTokenizer cachedTokenizer = new TextTokenizer(TokenizerPipeline.extended(), null, cache);
+        assertEquals(expected, cachedTokenizer.tokenizeText(text));
+        assertEquals(expected, cachedTokenizer.tokenizeText(text));
+    }
+}
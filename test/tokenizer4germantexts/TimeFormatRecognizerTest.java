@@ -0,0 +1,63 @@
+// TimeFormatRecognizerTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/* Compares the scans for times and ranges of times with the old loops of "replaceTimeFormats()" (on
+ * texts as they look like behind the stage "symbols"). */
+class TimeFormatRecognizerTest {
+
+    private final static String[] WORDS = {"um", "von", "bis", "uhr", "h", "cet", "cest", "mez", "mesz", "YßßY", "XßßX", "12", "7", "2019", "a.m"};
+    private final static String[] CLOCKS = {"", " uhr", "uhr", " h", "h", " cet", "cest", " mez", "mesz"};
+
+    @Test
+    void recognizesTheTimesOfTheOldLoops() {
+        final Random random = new Random(5);
+        for (int i=0; i<120; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int pieces = 1+random.nextInt(6);
+            for (int j=0; j<pieces; j++) {
+                sb.append(' ');
+                if (random.nextBoolean()) {
+                    sb.append(WORDS[random.nextInt(WORDS.length)]);
+                    continue;
+                }
+                final int hour = random.nextInt(26);
+                sb.append((hour < 10 && random.nextBoolean())? "0" : "").append(hour);
+                sb.append(random.nextBoolean()? "." : " XßßX ");
+                final int minutes = random.nextInt(62);
+                sb.append((minutes < 10)? "0" : "").append(minutes);
+                if (random.nextInt(4) == 0) {
+                    sb.append(" YßßY ").append(random.nextInt(25));
+                }
+                sb.append(CLOCKS[random.nextInt(CLOCKS.length)]);
+            }
+            final String text = sb.append(' ').toString();
+            assertEquals(BaselineRules.timeFormats(text), TimeFormatRecognizer.replaceTimeFormats(text), text);
+        }
+    }
+
+    @Test
+    void replacesRangesOfTimes() {
+        assertEquals(" von 09 uhr 30 bis 12 uhr 00 ", TimeFormatRecognizer.replaceTimeFormats(" von 09.30 YßßY 12.00h "));
+    }
+}
@@ -0,0 +1,70 @@
+// TokenIdReaderTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Writes token files in the binary format and reads the tokens back with their vocabulary.
+class TokenIdReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsTheTokensThatHaveBeenWritten() throws IOException {
+        final List<String> tokens = new ArrayList<>();
+        for (int i=0; i<50000; i++) {
+            tokens.add((i%7 == 0)? "token"+Integer.toString(i) : "wort"+Integer.toString(i%300)); // ids of one, two and three bytes
+        }
+        final File idFile = directory.resolve("tokens0.ids").toFile();
+        final Vocabulary vocabulary = new Vocabulary();
+        try (TokenIdWriter writer = new TokenIdWriter(FileChannel.open(idFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE), vocabulary, 64)) {
+            final String text = String.join(" ", tokens);
+            for (int start=0; start<text.length(); start+=1000) { // splits up tokens between the calls
+                writer.write(text.substring(start, Math.min(start+1000, text.length())));
+            }
+        }
+        final File vocabularyFile = directory.resolve("ids.vocab").toFile();
+        vocabulary.writeIds(vocabularyFile);
+        final String[] idTokens = TokenIdReader.readVocabulary(vocabularyFile);
+        assertEquals(vocabulary.size(), idTokens.length);
+        final List<String> readTokens = new ArrayList<>();
+        try (TokenIdReader reader = new TokenIdReader(idFile)) {
+            final int[] ids = new int[333];
+            int numberOfIds;
+            while ((numberOfIds = reader.read(ids)) > 0) {
+                for (int i=0; i<numberOfIds; i++) {
+                    readTokens.add(idTokens[ids[i]]);
+                }
+            }
+            assertFalse(reader.hasNext());
+        }
+        assertEquals(tokens, readTokens);
+    }
+}
@@ -0,0 +1,134 @@
+// TokenizerEngineTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// The examples of the README in both modes, in memory and written into token files.
+class TokenizerEngineTest {
+
+    final static String README_TEXT = "Es war bspw. am 15.1.2019, als ich – es muss ca. -20°C gehabt haben! – mit meinem Auto, das ich bzw. meine Frau im Sommer 2008 erstanden hatte, rund 300km von meiner Heimat entfernt mit 47 km/h geblitzt wurde; dabei bin ich mir sicher, dass da ein 50er-Bereich war!!! Weil mir so etwas nun schon zum 3ten Mal passierte und ich nicht wollte, dass 4-mal daraus werden, beschloss ich – wie Hannibal um 200 v. Chr. gegen Rom – dagegen vorzugehen, ggf. auch dann, wenn mir meine Familie und Freunde etc. davon abrieten. Doch als ich mich bei der Behörde beschweren wollte, stellte ich fest, dass sie nur von 09.30-12.00h geöffnet hatte…";
+    final static String README_EXTENDED = "es war beispielsweise am fünfzehnten januar zweitausendneunzehn als ich es muss circa minus zwanzig grad celsius gehabt haben mit meinem auto das ich beziehungsweise meine frau im sommer zweitausendacht erstanden hatte rund dreihundert kilometer von meiner heimat entfernt mit siebenundvierzig kilometer pro stunde geblitzt wurde dabei bin ich mir sicher dass da ein fünfziger-bereich war weil mir so etwas nun schon zum dritten mal passierte und ich nicht wollte dass viermal daraus werden beschloss ich wie hannibal um zweihundert vor christus gegen rom dagegen vorzugehen gegebenenfalls auch dann wenn mir meine familie und freunde et cetera davon abrieten doch als ich mich bei der behörde beschweren wollte stellte ich fest dass sie nur von neun uhr dreißig bis zwölf uhr geöffnet hatte";
+    final static String README_STANDARD = "es war bspw. am 15.1.2019 als ich es muss ca. -20 °c gehabt haben mit meinem auto das ich bzw. meine frau im sommer 2008 erstanden hatte rund 300 km von meiner heimat entfernt mit 47 kmh geblitzt wurde dabei bin ich mir sicher dass da ein 50er-bereich war weil mir so etwas nun schon zum 3ten mal passierte und ich nicht wollte dass 4-mal daraus werden beschloss ich wie hannibal um 200 v.chr. gegen rom dagegen vorzugehen ggf. auch dann wenn mir meine familie und freunde etc. davon abrieten doch als ich mich bei der behörde beschweren wollte stellte ich fest dass sie nur von 09.30 - 12.00h geöffnet hatte";
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void tokenizesTheReadmeExampleInTheExtendedMode() {
+        assertEquals(README_EXTENDED, new TokenizerEngine(true).tokenize(README_TEXT));
+    }
+
+    @Test
+    void tokenizesTheReadmeExampleInTheStandardMode() {
+        assertEquals(README_STANDARD, new TokenizerEngine(false).tokenize(README_TEXT));
+    }
+
+    @Test
+    void writesTheSameTokensIntoTokenFiles() throws IOException {
+        final Path input = outputDirectory.resolve("readme.txt");
+        Files.write(input, (README_TEXT+"\n").getBytes(StandardCharsets.UTF_8));
+        final TokenizerOptions options = TokenizerOptions.DEFAULT.withOutputDirectory(outputDirectory.resolve("tokens").toString());
+        assertEquals(README_EXTENDED, tokenizeFile(new TokenizerEngine(true, options), input));
+        assertEquals(README_STANDARD, tokenizeFile(new TokenizerEngine(false, options), input));
+        assertEquals(README_EXTENDED, tokenizeFile(new TokenizerEngine(true, options.withMemoryMapping(true)), input));
+    }
+
+    @Test
+    void writesTheSameFileWithSeveralWorkers() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        for (int i=0; i<200; i++) {
+            text.append(README_TEXT).append('\n');
+        }
+        final Path input = outputDirectory.resolve("long.txt");
+        Files.write(input, text.toString().getBytes(StandardCharsets.UTF_8));
+        final TokenizerOptions options = TokenizerOptions.DEFAULT.withOutputDirectory(outputDirectory.resolve("tokens").toString()).withBatchSize(7);
+        final String sequential = tokenizeFile(new TokenizerEngine(true, options), input);
+        assertEquals(sequential, tokenizeFile(new TokenizerEngine(true, options.withWorkers(4)), input));
+    }
+
+    @Test
+    void streamsTheSameTokensAsTheTokenFile() {
+        final TokenizerEngine engine = new TokenizerEngine(true);
+        try (Stream<String> tokens = engine.tokens(new StringReader(README_TEXT))) {
+            assertEquals(README_EXTENDED, tokens.collect(Collectors.joining(" ")));
+        }
+        final List<String> list = engine.tokenizeToList(README_TEXT);
+        assertEquals(README_EXTENDED, String.join(" ", list));
+    }
+
+    @Test
+    void leavesNoTokenFileBehindForAMissingInput() throws IOException {
+        final Path tokens = outputDirectory.resolve("tokens");
+        final TokenizerEngine engine = new TokenizerEngine(true, TokenizerOptions.DEFAULT.withOutputDirectory(tokens.toString()));
+        assertNull(engine.tokenizeFile(outputDirectory.resolve("missing.txt").toString(), "", "UTF-8"));
+        try (Stream<Path> files = Files.list(tokens)) {
+            assertEquals(0, files.count());
+        }
+        // The number of the token file isn't used up either.
+        final Path input = outputDirectory.resolve("readme.txt");
+        Files.write(input, (README_TEXT+"\n").getBytes(StandardCharsets.UTF_8));
+        assertEquals("tokens0.txt", engine.tokenizeFile(input.toString(), "", "UTF-8").getName());
+    }
+
+    @Test
+    void measuresTheDecodedTextAndUnregistersTheMetrics() throws IOException, JMException {
+        final byte[] text = (README_TEXT+"\n").getBytes(StandardCharsets.UTF_8);
+        final Path input = outputDirectory.resolve("readme.txt.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(input))) {
+            os.write(text);
+        }
+        final int registered = countRegisteredMetrics();
+        final TokenizerEngine engine = new TokenizerEngine(true, TokenizerOptions.DEFAULT.withOutputDirectory(outputDirectory.resolve("tokens").toString()).withMetrics(true));
+        assertEquals(registered+1, countRegisteredMetrics());
+        assertEquals(README_EXTENDED, tokenizeFile(engine, input));
+        assertEquals(text.length, engine.getMetrics().getBytes()); // not the size of the compressed file
+        engine.close();
+        assertEquals(registered, countRegisteredMetrics());
+    }
+
+    private static final int countRegisteredMetrics() throws JMException {
+        return ManagementFactory.getPlatformMBeanServer().queryNames(new ObjectName("tokenizer4germantexts:type=TokenizerMetrics,*"), null).size();
+    }
+
+    private static final String tokenizeFile(final TokenizerEngine engine, final Path input) throws IOException {
+        final File tokenFile = engine.tokenizeFile(input.toString(), "", "UTF-8");
+        assertNotNull(tokenFile);
+        return new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8);
+    }
+}
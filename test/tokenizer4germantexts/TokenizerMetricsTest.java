@@ -0,0 +1,33 @@
+// TokenizerMetricsTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// The JSON summary of the metrics.
+class TokenizerMetricsTest {
+
+    @Test
+    void escapesTheNamesOfTheStages() {
+        final String json = new TokenizerMetrics(new String[] {"my \"stage\"", "back\\slash", "tab\tname"}).toJson();
+        assertTrue(json.contains("    \"my \\\"stage\\\"\": {\"millis\": 0"), json);
+        assertTrue(json.contains("    \"back\\\\slash\": {"), json);
+        assertTrue(json.contains("    \"tab\\u0009name\": {"), json);
+    }
+}
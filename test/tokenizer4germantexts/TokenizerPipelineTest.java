@@ -0,0 +1,71 @@
+// TokenizerPipelineTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+// Pipelines with stages of their own.
+class TokenizerPipelineTest {
+
+    @Test
+    void seesTheDigitsAddedByAStageOfItsOwn() {
+        final String expected = new TokenizerEngine(true).tokenize("Wir treffen uns um 12:30 Uhr");
+        // The colon is still there in front of the preparation...
+        assertEquals(expected, tokenize(TokenizerPipeline.PREPARATION, "um 12:30 uhr "));
+        // ...and has been replaced with its marker by the time the time formats are recognized.
+        assertEquals(expected, tokenize(TokenizerPipeline.TIME_FORMATS, "um 12 XßßX 30 uhr "));
+    }
+
+    @Test
+    void replacesABuiltInStageWithOneOfTheSameName() {
+        final TokenizerStage digitsKept = stage(TokenizerPipeline.NUMBERS, batch -> {});
+        final TokenizerPipeline pipeline = TokenizerPipeline.extended().replace(TokenizerPipeline.NUMBERS, digitsKept);
+        assertArrayEquals(TokenizerPipeline.extended().getStageNames(), pipeline.getStageNames());
+        assertSame(digitsKept, pipeline.getStage(TokenizerPipeline.NUMBERS));
+        assertEquals("ich habe 3 äpfel", new TokenizerEngine(true, TokenizerOptions.DEFAULT.withPipeline(pipeline)).tokenize("Ich habe 3 Äpfel"));
+        // The name of another stage is still taken.
+        assertThrows(IllegalArgumentException.class, () -> TokenizerPipeline.extended().replace(TokenizerPipeline.NUMBERS, stage(TokenizerPipeline.YEARS, batch -> {})));
+    }
+
+    private static final TokenizerStage stage(final String name, final Consumer<TokenizerBatch> work) {
+        return new TokenizerStage() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void apply(final TokenizerBatch batch) {
+                work.accept(batch);
+            }
+        };
+    }
+
+    private static final String tokenize(final String nextStage, final String appointment) {
+    // Tokenizes a text without digits to which a stage in front of "nextStage" adds an "appointment".
+        final TokenizerStage stage = stage("appointment", batch -> batch.setLines(batch.getLines()+appointment));
+        final TokenizerPipeline pipeline = TokenizerPipeline.extended().insertBefore(nextStage, stage);
+        return new TokenizerEngine(true, TokenizerOptions.DEFAULT.withPipeline(pipeline)).tokenize("Wir treffen uns");
+    }
+}
@@ -0,0 +1,156 @@
+// VocabularyTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Compares the counts of "Vocabulary" with those of a "HashMap".
+class VocabularyTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void mergesTheCountsOfSeveralFiles() {
+        final Random random = new Random(17);
+        final Map<String, Integer> expected = new HashMap<>();
+        final Vocabulary shared = new Vocabulary();
+        for (int file=0; file<5; file++) {
+            final Vocabulary vocabulary = new Vocabulary();
+            for (int batch=0; batch<40; batch++) {
+                final String lines = randomTokens(random, 200, expected);
+                vocabulary.addTokens(lines);
+            }
+            shared.merge(vocabulary);
+        }
+        assertTrue(expected.size() > 1024); // the table has to grow
+        assertEquals(expected.size(), shared.size());
+        assertEquals(5*40*200, shared.getNumberOfTokens());
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals((int)entry.getValue(), shared.getCount(entry.getKey()), entry.getKey());
+        }
+        assertEquals(0, shared.getCount("unbekannt"));
+    }
+
+    @Test
+    void keepsTheIdsOfKnownTokens() {
+        final Vocabulary vocabulary = new Vocabulary();
+        final int[] first = vocabulary.toIds("a b a c");
+        assertEquals("[0, 1, 0, 2]", Arrays.toString(first));
+        for (int i=0; i<3000; i++) {
+            vocabulary.toIds("t"+Integer.toString(i));
+        }
+        assertEquals("[2, 0, 3003, 1]", Arrays.toString(vocabulary.toIds(" c a neu b ")));
+        assertEquals(3, vocabulary.getCount("a"));
+    }
+
+    @Test
+    void writesTheMostFrequentTokensFirst() throws IOException {
+        final Random random = new Random(23);
+        final Map<String, Integer> counts = new HashMap<>();
+        final Vocabulary vocabulary = new Vocabulary();
+        for (int batch=0; batch<30; batch++) {
+            vocabulary.addTokens(randomTokens(random, 100, counts));
+        }
+        final int[][] limits = {{1, 0}, {3, 0}, {2, 50}, {1, 100000}, {1000, 0}};
+        for (int[] limit : limits) {
+            final File file = outputDirectory.resolve("vocab.txt").toFile();
+            final List<String> expected = sortedVocabulary(counts, limit[0], limit[1]);
+            assertEquals(expected.size(), vocabulary.write(file, limit[0], limit[1]));
+            assertEquals(expected, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8), "minCount "+limit[0]+", topK "+limit[1]);
+        }
+    }
+
+    @Test
+    void countsTheTokenFilesOfAnEngine() throws Exception {
+        final StringBuilder text = new StringBuilder();
+        for (int i=0; i<60; i++) {
+            text.append(TokenizerEngineTest.README_TEXT).append(" Satz Nummer ").append(i%7).append(".\n");
+        }
+        final Path tokens = outputDirectory.resolve("tokens");
+        final TokenizerEngine engine = new TokenizerEngine(true, TokenizerOptions.DEFAULT.withOutputDirectory(tokens.toString()).withVocabulary(true).withWorkers(4).withBatchSize(3).withMinCount(2).withTopK(40));
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        final List<Future<File>> tokenFiles = new ArrayList<>();
+        for (int file=0; file<6; file++) {
+            final Path input = outputDirectory.resolve("input"+Integer.toString(file)+".txt");
+            Files.write(input, text.substring(0, text.length()*(file+1)/6).getBytes(StandardCharsets.UTF_8));
+            tokenFiles.add(executor.submit(() -> engine.tokenizeFile(input.toString(), "", "UTF-8")));
+        }
+        final Map<String, Integer> counts = new HashMap<>();
+        for (Future<File> tokenFile : tokenFiles) {
+            assertNotNull(tokenFile.get());
+            for (String token : new String(Files.readAllBytes(tokenFile.get().toPath()), StandardCharsets.UTF_8).split(" ")) {
+                if (!token.isEmpty()) {
+                    counts.merge(token, 1, Integer::sum);
+                }
+            }
+        }
+        executor.shutdown();
+        final File vocabularyFile = engine.writeVocabulary();
+        assertEquals(sortedVocabulary(counts, 2, 40), Files.readAllLines(vocabularyFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    private static final String randomTokens(final Random random, final int numberOfTokens, final Map<String, Integer> counts) {
+    // Returns "numberOfTokens" tokens (some of them frequent, most of them rare) and counts them.
+        final StringBuilder sb = new StringBuilder();
+        for (int i=0; i<numberOfTokens; i++) {
+            final String token = (random.nextInt(4) == 0)? "w"+Integer.toString(random.nextInt(20)) : "t"+Integer.toString(random.nextInt(3000));
+            counts.merge(token, 1, Integer::sum);
+            sb.append(token).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static final List<String> sortedVocabulary(final Map<String, Integer> counts, final int minCount, final int topK) {
+    // The lines of a vocabulary file: the most frequent tokens first, equal counts in alphabetical order.
+        final List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() >= minCount) {
+                entries.add(entry);
+            }
+        }
+        entries.sort((first, second) -> first.getValue().equals(second.getValue())? first.getKey().compareTo(second.getKey()) : Integer.compare(second.getValue(), first.getValue()));
+        final List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            if (topK > 0 && lines.size() == topK) {
+                break;
+            }
+            lines.add(entry.getKey()+" "+Integer.toString(entry.getValue()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,169 @@
+// WebsiteCrawlerTest.java
+//
+// Copyright 2019 E. Decker
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package tokenizer4germantexts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Downloads websites from a local server, so no connection to the internet is needed.
+class WebsiteCrawlerTest {
+
+    private final static String PAGE = "<html><head><title>Größe</title></head><body><p>Über 20 Straßen</p></body></html>";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ExecutorService tokenizers;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maximumOfActiveRequests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/utf-8", exchange -> send(exchange, 200, "text/html; charset=UTF-8", PAGE.getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/latin-1", exchange -> send(exchange, 200, "text/html; charset=ISO-8859-1", PAGE.getBytes(StandardCharsets.ISO_8859_1)));
+        server.createContext("/meta", exchange -> send(exchange, 200, "text/html", ("<meta charset=\"windows-1252\">"+PAGE).getBytes(Charset.forName("windows-1252"))));
+        server.createContext("/moved", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/utf-8");
+            send(exchange, 302, "text/html", new byte[0]);
+        });
+        server.createContext("/missing", exchange -> send(exchange, 404, "text/html", "<p>Nicht gefunden</p>".getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/slow", exchange -> {
+            maximumOfActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            activeRequests.decrementAndGet();
+            send(exchange, 200, "text/html; charset=UTF-8", PAGE.getBytes(StandardCharsets.UTF_8));
+        });
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.start();
+        tokenizers = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        tokenizers.shutdownNow();
+    }
+
+    @Test
+    void detectsTheCharsetOfTheWebsites() {
+        final WebsiteCrawler crawler = new WebsiteCrawler(2, tokenizers);
+        for (String path : new String[] {"/utf-8", "/latin-1", "/meta"}) {
+            final Map<String, String> texts = new ConcurrentHashMap<>();
+            assertTrue(crawler.fetch(uri(path), reader -> collect(reader, path, texts)).join(), path);
+            assertTrue(texts.get(path).contains("Größe"), path);
+            assertTrue(texts.get(path).contains("Über 20 Straßen"), path);
+        }
+    }
+
+    @Test
+    void followsRedirects() {
+        final Map<String, String> texts = new ConcurrentHashMap<>();
+        assertTrue(new WebsiteCrawler(1, tokenizers).fetch(uri("/moved"), reader -> collect(reader, "moved", texts)).join());
+        assertTrue(texts.get("moved").contains("Über 20 Straßen"));
+    }
+
+    @Test
+    void failsWithoutTokenizingErrorPages() throws Exception {
+        final WebsiteCrawler crawler = new WebsiteCrawler(1, tokenizers);
+        final AtomicInteger tokenizations = new AtomicInteger();
+        assertFalse(crawler.fetch(uri("/missing"), reader -> tokenizations.incrementAndGet() > 0).join());
+        final int unusedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            unusedPort = socket.getLocalPort();
+        }
+        assertFalse(crawler.fetch(URI.create("http://127.0.0.1:"+unusedPort+"/"), reader -> tokenizations.incrementAndGet() > 0).join());
+        assertFalse(crawler.fetch(URI.create("ftp://127.0.0.1/"), reader -> tokenizations.incrementAndGet() > 0).join());
+        assertEquals(0, tokenizations.get());
+        // the failed requests have given back their permits
+        assertTrue(crawler.fetch(uri("/utf-8"), reader -> tokenizations.incrementAndGet() > 0).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void limitsTheNumberOfRequestsAtTheSameTime() {
+        final WebsiteCrawler crawler = new WebsiteCrawler(2, tokenizers);
+        final List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i=0; i<8; i++) {
+            results.add(crawler.fetch(uri("/slow"), reader -> collect(reader, "slow", new ConcurrentHashMap<>())));
+        }
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.join());
+        }
+        assertTrue(maximumOfActiveRequests.get() <= 2, Integer.toString(maximumOfActiveRequests.get()));
+        assertTrue(maximumOfActiveRequests.get() >= 1);
+    }
+
+    private final URI uri(final String path) {
+        return URI.create("http://127.0.0.1:"+Integer.toString(server.getAddress().getPort())+path);
+    }
+
+    private static final boolean collect(final Reader reader, final String key, final Map<String, String> texts) {
+        final StringBuilder sb = new StringBuilder();
+        try (Reader text = reader) {
+            final char[] buffer = new char[1024];
+            int read;
+            while ((read = text.read(buffer)) >= 0) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        texts.put(key, sb.toString());
+        return true;
+    }
+
+    private static final void send(final HttpExchange exchange, final int status, final String contentType, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, (body.length == 0)? -1 : body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}